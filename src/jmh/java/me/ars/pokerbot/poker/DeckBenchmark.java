@@ -0,0 +1,61 @@
+package me.ars.pokerbot.poker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shuffling a deck for a new hand and dealing the cards of a table of six,
+ * with the Deck and with the shuffled list copied into a queue it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+  private static final int CARDS_DEALT = 6 * 2 + 5;
+
+  private final Random random = new Random(42);
+  private final Deck deck = new Deck();
+  private final Queue<Card> queue = new ArrayDeque<>(52);
+
+  @Benchmark
+  public int deck() {
+    deck.reset(Ranking.STANDARD);
+    deck.shuffle(random);
+    int sum = 0;
+    for (int i = 0; i < CARDS_DEALT; i++) {
+      sum += deck.deal().ordinal();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int shuffledQueue() {
+    final List<Card> rawDeck = Arrays.asList(Card.getDeck());
+    Collections.shuffle(rawDeck, random);
+    queue.clear();
+    queue.addAll(rawDeck);
+    int sum = 0;
+    for (int i = 0; i < CARDS_DEALT; i++) {
+      sum += queue.poll().ordinal();
+    }
+    return sum;
+  }
+}
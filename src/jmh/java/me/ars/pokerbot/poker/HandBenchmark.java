@@ -0,0 +1,156 @@
+package me.ars.pokerbot.poker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import me.ars.pokerbot.poker.Card.Suit;
+import me.ars.pokerbot.poker.Hand.HandType;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hand evaluation benchmarks. Every invocation works on the next of a fixed
+ * set of seven card hands of the chosen kind, so branch prediction cannot
+ * learn a single hand.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandBenchmark {
+  public enum Kind {
+    RANDOM, THREE_PAIRS, WHEEL, SIX_SUITED, SEVEN_SUITED
+  }
+
+  private static final int HANDS = 1024;
+
+  @Param
+  public Kind kind;
+
+  private final long[] cards = new long[HANDS];
+  private final Card[][] cardArrays = new Card[HANDS][];
+  private final Hand[] hands = new Hand[HANDS];
+  private final long[] shortDeckCards = new long[HANDS];
+  private int next;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(42);
+    for (int i = 0; i < HANDS; i++) {
+      cards[i] = generate(kind, random);
+      cardArrays[i] = CardSet.toCards(cards[i]);
+      hands[i] = Hand.getBestHand(null, cards[i]);
+      shortDeckCards[i] = draw(random, Ranking.SHORT_DECK.getCards(), 7);
+    }
+    // both kinds of tables are generated in the background, and evaluating without them is much slower
+    HandEvaluator.loadTables(null);
+    HandEvaluator.prepare(Ranking.SHORT_DECK);
+    while (!HandEvaluator.hasTables() || !HandEvaluator.hasTables(Ranking.SHORT_DECK)) {
+      Thread.yield();
+    }
+  }
+
+  private int next() {
+    return next = (next + 1) & (HANDS - 1);
+  }
+
+  @Benchmark
+  public Hand getBestHand() {
+    return Hand.getBestHand(null, cardArrays[next()]);
+  }
+
+  @Benchmark
+  public Card[] getBestHandCards() {
+    return Hand.getBestHand(null, cards[next()]).getBestHand();
+  }
+
+  @Benchmark
+  public int evaluate() {
+    return HandEvaluator.evaluate(cards[next()]);
+  }
+
+  /*
+   * random seven card hands of the short deck, whatever the kind
+   */
+  @Benchmark
+  public int evaluateShortDeck() {
+    return HandEvaluator.evaluate(Ranking.SHORT_DECK, shortDeckCards[next()]);
+  }
+
+  @Benchmark
+  public int compareTo() {
+    final int i = next();
+    return hands[i].compareTo(hands[(i + 1) & (HANDS - 1)]);
+  }
+
+  @Benchmark
+  public int hashCodeOfHand() {
+    return hands[next()].hashCode();
+  }
+
+  private static long generate(Kind kind, Random random) {
+    final Suit suit = Suit.values()[random.nextInt(4)];
+    switch (kind) {
+    case RANDOM:
+      return draw(random, CardSet.DECK, 7);
+    case THREE_PAIRS: {
+      long values = draw(random, CardSet.ofSuit(Suit.CLUBS), 4);
+      long hand = CardSet.EMPTY;
+      for (int i = 0; i < 4; i++) {
+        final long value = CardSet.ofValue((Long.numberOfTrailingZeros(values) & 0xf) + 2);
+        values &= values - 1;
+        hand |= draw(random, value, i < 3 ? 2 : 1);
+      }
+      return hand;
+    }
+    case WHEEL:
+      while (true) {
+        long hand = CardSet.EMPTY;
+        for (int value : new int[] {14, 2, 3, 4, 5}) {
+          hand |= draw(random, CardSet.ofValue(value), 1);
+        }
+        hand |= draw(random, CardSet.DECK & ~hand & ~CardSet.ofValue(6), 2);
+        final int rank = HandEvaluator.evaluate(hand);
+        if (HandEvaluator.getHandType(rank) == HandType.STRAIGHT && HandEvaluator.getValue(rank, 0) == 5) {
+          return hand;
+        }
+      }
+    case SIX_SUITED:
+      return draw(random, CardSet.ofSuit(suit), 6) | draw(random, CardSet.DECK & ~CardSet.ofSuit(suit), 1);
+    case SEVEN_SUITED:
+      return draw(random, CardSet.ofSuit(suit), 7);
+    default:
+      throw new IllegalStateException();
+    }
+  }
+
+  /*
+   * @return n cards picked at random from the CardSet
+   */
+  private static long draw(Random random, long from, int n) {
+    long drawn = CardSet.EMPTY;
+    for (int i = 0; i < n; i++) {
+      int skip = random.nextInt(CardSet.size(from));
+      long rest = from;
+      while (skip-- > 0) {
+        rest &= rest - 1;
+      }
+      final long card = Long.lowestOneBit(rest);
+      drawn |= card;
+      from &= ~card;
+    }
+    return drawn;
+  }
+}
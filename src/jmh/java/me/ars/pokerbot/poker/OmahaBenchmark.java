@@ -0,0 +1,83 @@
+package me.ars.pokerbot.poker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Omaha showdown benchmarks over a fixed set of random deals of four hole
+ * cards and a five card board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OmahaBenchmark {
+  private static final int DEALS = 1024;
+
+  private final long[] holeCards = new long[DEALS];
+  private final long[] boards = new long[DEALS];
+  private final OmahaEvaluator[] evaluators = new OmahaEvaluator[DEALS];
+  private int next;
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(42);
+    for (int i = 0; i < DEALS; i++) {
+      final List<Card> deck = new ArrayList<>(Arrays.asList(Card.getDeck()));
+      Collections.shuffle(deck, random);
+      holeCards[i] = CardSet.of(deck.subList(0, 4));
+      boards[i] = CardSet.of(deck.subList(4, 9));
+      evaluators[i] = new OmahaEvaluator(boards[i]);
+    }
+    // the tables are generated in the background, and evaluating without them is much slower
+    HandEvaluator.loadTables(null);
+    while (!HandEvaluator.hasTables()) {
+      Thread.yield();
+    }
+  }
+
+  private int next() {
+    return next = (next + 1) & (DEALS - 1);
+  }
+
+  @Benchmark
+  public int rank() {
+    final int i = next();
+    return evaluators[i].rank(holeCards[i]);
+  }
+
+  @Benchmark
+  public int rankWithNewBoard() {
+    final int i = next();
+    return new OmahaEvaluator(boards[i]).rank(holeCards[i]);
+  }
+
+  @Benchmark
+  public int lowRank() {
+    final int i = next();
+    return evaluators[i].lowRank(holeCards[i]);
+  }
+
+  @Benchmark
+  public Hand getBestHand() {
+    final int i = next();
+    return evaluators[i].getBestHand(null, holeCards[i]);
+  }
+}
@@ -0,0 +1,46 @@
+package me.ars.pokerbot.poker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of shuffling a full deck with each random source a table can be
+ * configured with, next to a plain java.util.Random.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RandomSourceBenchmark {
+  @Param({"fast", "seeded", "secure", "random"})
+  public String source;
+
+  private final Deck deck = new Deck();
+  private Random random;
+
+  @Setup
+  public void setUp() {
+    random = source.equals("random") ? new Random(42) : RandomSource.fromConfig(source).create(42L);
+  }
+
+  @Benchmark
+  public Deck shuffle() {
+    deck.reset(Ranking.STANDARD);
+    deck.shuffle(random);
+    return deck;
+  }
+}
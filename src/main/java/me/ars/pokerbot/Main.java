@@ -2,12 +2,14 @@ package me.ars.pokerbot;
 
 import java.io.IOException;
 import java.io.File;
+import java.nio.file.Paths;
 import java.util.logging.Logger;
 
 import com.moandjiezana.toml.Toml;
 
 import me.ars.pokerbot.config.BotConfig;
 import me.ars.pokerbot.irc.KittehBot;
+import me.ars.pokerbot.poker.HandEvaluator;
 
 public class Main {
     public static void main(String[] args) {
@@ -19,6 +21,7 @@ public class Main {
             return;
         }
         final BotConfig config = new Toml(defaults).read(configFile).to(BotConfig.class);
+        HandEvaluator.loadTables(Paths.get(config.rankTables));
         KittehBot bot = new KittehBot(config);
         bot.setVerbose(config.irc.verbose);
         bot.connect(
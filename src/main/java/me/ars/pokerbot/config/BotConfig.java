@@ -1,6 +1,9 @@
 package me.ars.pokerbot.config;
 
 public class BotConfig {
+    public String rankTables;
+    public Integer oddsCacheMegabytes;
+    public Integer deckPoolSize;
     public IrcConfig irc;
     public GameConfig game;
 }
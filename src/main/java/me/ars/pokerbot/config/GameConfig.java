@@ -5,4 +5,7 @@ public class GameConfig {
     public Integer ante;
     public Integer bigBlind;
     public Boolean spyCards;
+    public String variant;
+    public String random;
+    public Long seed;
 }
@@ -1,12 +1,14 @@
 package me.ars.pokerbot.irc;
 
 import me.ars.pokerbot.poker.Card;
+import me.ars.pokerbot.poker.Equity;
 import me.ars.pokerbot.poker.Hand;
 import me.ars.pokerbot.poker.Player;
 import me.ars.pokerbot.poker.StateCallback;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -119,6 +121,12 @@ public class IrcStateCallback implements StateCallback {
         ircBot.message(channel, renderNick(player) + " doesn't have enough money to make the raise. They only have " + moneyString(money) + ".");
     }
 
+    @Override
+    public void playerCannotRaiseOverLimit(Player player, int maxRaise) {
+        ircBot.message(channel, renderNick(player) + " can't raise more than the pot. The most they can raise is "
+                + moneyString(maxRaise) + ".");
+    }
+
     @Override
     public void playerAllin(Player player) {
         ircBot.message(channel, renderNick(player) + " goes all in!");
@@ -135,15 +143,24 @@ public class IrcStateCallback implements StateCallback {
     }
 
     @Override
-    public void showPlayerCards(Player player, Card card1, Card card2, Card spyCard) {
+    public void showPlayerCards(Player player, List<Card> cards, Card spyCard) {
         final StringBuilder sb = new StringBuilder();
-        sb.append("[").append(channel).append("] Your cards: ").append(renderCard(card1)).append(", ").append(renderCard(card2));
+        sb.append("[").append(channel).append("] Your cards: ")
+                .append(cards.stream().map(this::renderCard).collect(Collectors.joining(", ")));
         if (spyCard != null) {
             sb.append(". Spied card: ").append(renderCard(spyCard));
         }
         ircBot.message(player, sb.toString());
     }
 
+    @Override
+    public void showOuts(Player player, Map<Hand.HandType, List<Card>> outs) {
+        final int count = outs.values().stream().mapToInt(List::size).sum();
+        ircBot.message(player, "[" + channel + "] Your outs (" + count + "): " + outs.keySet().stream()
+                .map(type -> type + " " + outs.get(type).stream().map(this::renderCard).collect(Collectors.joining(", ")))
+                .collect(Collectors.joining("; ")));
+    }
+
     @Override
     public void showPlayers(Map<Player, Integer> players) {
         ircBot.message(channel, players.keySet().stream()
@@ -155,11 +172,28 @@ public class IrcStateCallback implements StateCallback {
     public void revealPlayers(Map<Player, List<Card>> reveal) {
         ircBot.message(channel, reveal.keySet().stream()
                 .map(player -> "[" + renderNick(player) + " - " +
-                        renderCard(reveal.get(player).get(0)) + ", " +
-                        renderCard(reveal.get(player).get(1)) + "]")
+                        reveal.get(player).stream().map(this::renderCard).collect(Collectors.joining(", ")) + "]")
                 .collect(Collectors.joining(" ")));
     }
 
+    @Override
+    public void showEquity(List<Player> players, Equity equity) {
+        final StringBuilder sb = new StringBuilder("Odds:");
+        for (int i = 0; i < players.size(); i++) {
+            sb.append(" [").append(renderNick(players.get(i))).append(" - ")
+                    .append(percentString(equity.getEquity(i)));
+            if (equity.getTie(i) > 0) {
+                sb.append(" (tie ").append(percentString(equity.getTie(i))).append(")");
+            }
+            sb.append("]");
+        }
+        ircBot.message(channel, sb.toString());
+    }
+
+    private String percentString(double fraction) {
+        return String.format(Locale.ROOT, "%.1f%%", 100 * fraction);
+    }
+
     @Override
     public void declareWinner(Player player, Hand winningHand, int pot) {
         final StringBuilder sb = new StringBuilder();
@@ -179,6 +213,14 @@ public class IrcStateCallback implements StateCallback {
                         + " (each with a " + handType + ").");
     }
 
+    @Override
+    public void declareLowWinners(List<Player> winners, String low, int pot) {
+        ircBot.message(channel,
+                winners.stream().map(this::renderNick).collect(Collectors.joining(", "))
+                        + (winners.size() == 1 ? " wins " : " split ") + moneyString(pot)
+                        + " for the best low, " + low + "!");
+    }
+
     @Override
     public void declarePlayerTurn(Player player) {
         ircBot.message(channel, renderNick(player) + "'s turn!");
@@ -2,8 +2,16 @@ package me.ars.pokerbot.irc;
 
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import me.ars.pokerbot.config.BotConfig;
+import me.ars.pokerbot.poker.Card;
+import me.ars.pokerbot.poker.CardSet;
+import me.ars.pokerbot.poker.DeckPool;
+import me.ars.pokerbot.poker.EquityCache;
+import me.ars.pokerbot.poker.EquityService;
 import me.ars.pokerbot.poker.Player;
+import me.ars.pokerbot.poker.PreflopEquity;
+import me.ars.pokerbot.poker.RandomSource;
 import me.ars.pokerbot.poker.Table;
+import me.ars.pokerbot.poker.Variant;
 import me.ars.pokerbot.stats.Roster;
 import me.ars.pokerbot.stats.Stats;
 import net.engio.mbassy.listener.Handler;
@@ -23,6 +31,8 @@ import org.kitteh.irc.client.library.feature.ServerInfo;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -36,6 +46,17 @@ public class KittehBot implements Irc {
      * for parsing commands
      */
     private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    /*
+     * time from an odds request to its answer, and how many may be worked on
+     * at once before new ones are turned down
+     */
+    private static final long ODDS_BUDGET_MILLIS = 50;
+    private static final int ODDS_MAX_PENDING = 32;
+    private static final int MAX_ODDS_OPPONENTS = 9;
+    private static final int DEFAULT_ODDS_CACHE_MEGABYTES = 16;
+    private static final int DEFAULT_DECK_POOL_SIZE = 64;
+
     private final SimpleDateFormat sdf = new SimpleDateFormat("yyyy MMM dd HH:mm:ss");
     private final Map<String, Table> tables;
 
@@ -52,6 +73,13 @@ public class KittehBot implements Irc {
 
     private boolean verbose = false;
 
+    private final EquityService odds;
+
+    /*
+     * decks shuffled ahead of time for every table, when they shuffle with SecureRandom
+     */
+    private final DeckPool deckPool;
+
     public KittehBot(BotConfig config) {
         try {
             roster = Roster.getRoster();
@@ -63,6 +91,16 @@ public class KittehBot implements Irc {
         startingChannel = config.irc.channel;
         botName = config.irc.nick;
         players = new HashSet<>(15);
+        final int cacheMegabytes = config.oddsCacheMegabytes == null ? DEFAULT_ODDS_CACHE_MEGABYTES
+                : config.oddsCacheMegabytes;
+        odds = new EquityService(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), ODDS_MAX_PENDING,
+                ODDS_BUDGET_MILLIS, TimeUnit.MILLISECONDS, new EquityCache(cacheMegabytes * 1024L * 1024L));
+        if (config.game != null && RandomSource.fromConfig(config.game.random) == RandomSource.SECURE) {
+            final int poolSize = config.deckPoolSize == null ? DEFAULT_DECK_POOL_SIZE : config.deckPoolSize;
+            deckPool = new DeckPool(poolSize, RandomSource.SECURE.create(null));
+        } else {
+            deckPool = null;
+        }
     }
 
     private void logError(String message) {
@@ -126,6 +164,59 @@ public class KittehBot implements Irc {
         message(channel, stats.toString());
     }
 
+    /**
+     * Privately tells a player in the current hand their chances against a number of random hands, by default as
+     * many as there are other players left in the hand. The answer is worked out off the irc thread.
+     */
+    private void sendOdds(Table table, String channel, IrcPlayer player, String[] arguments) {
+        if (!table.getPlayers().contains(player) || player.isNotPlaying() || player.getCard1() == null) {
+            sendReply(channel, player.getNick(), "You are not in the current hand.");
+            return;
+        }
+        // the equity service deals from a full deck and ranks hands the standard way
+        if (table.getVariant() != Variant.HOLDEM || player.getHoleCards().size() != 2) {
+            sendReply(channel, player.getNick(), "Odds are only worked out for hold'em hands.");
+            return;
+        }
+        int opponents = (int) table.getPlayers().stream().filter(p -> !p.isNotPlaying()).count() - 1;
+        if (arguments.length > 1) {
+            try {
+                opponents = Integer.parseInt(arguments[1]);
+            } catch (NumberFormatException nfe) {
+                sendReply(channel, player.getNick(), "Malformed number: " + arguments[1] + ".");
+                return;
+            }
+        }
+        if (opponents < 1 || opponents > MAX_ODDS_OPPONENTS) {
+            sendReply(channel, player.getNick(), "Can only work out odds against 1 to " + MAX_ODDS_OPPONENTS + " hands.");
+            return;
+        }
+        final long board = CardSet.of(table.getTableCards());
+        if (!answerOdds(odds, player.getCard1(), player.getCard2(), opponents, board,
+                reply -> message(player, "[" + channel + "] " + reply))) {
+            message(player, "[" + channel + "] Too many odds requests right now, try again in a moment.");
+        }
+    }
+
+    /**
+     * Works out the odds of hole cards against 1 to 9 random hands and hands over the reply. Preflop odds are looked
+     * up in {@link PreflopEquity} at once, without the equity service.
+     *
+     * @return false if the equity service is too busy to take the request
+     */
+    static boolean answerOdds(EquityService odds, Card card1, Card card2, int against, long board,
+                              Consumer<String> reply) {
+        final String answer = "Your odds against " + against + " random hand" + (against == 1 ? "" : "s") + ": ";
+        if (board == CardSet.EMPTY) {
+            reply.accept(answer + String.format(Locale.ROOT, "%.1f%%",
+                    100 * PreflopEquity.vsRandom(card1, card2, against)));
+            return true;
+        }
+        return odds.submit(CardSet.of(card1, card2), against, board,
+                equity -> reply.accept(answer + String.format(Locale.ROOT, "%.1f%% (win %.1f%%, tie %.1f%%)",
+                        100 * equity.getEquity(0), 100 * equity.getWin(0), 100 * equity.getTie(0))));
+    }
+
     public void joinGameChannel(String channel, String channelPassword) {
         if (channelPassword == null) {
             ircClient.addChannel(channel);
@@ -352,6 +443,14 @@ public class KittehBot implements Irc {
                 configureTable(table, channel, split);
                 break;
             }
+            case "odds": {
+                if (!table.isGameInProgress()) {
+                    break;
+                }
+                player = getPlayer(sender, login, hostname);
+                sendOdds(table, channel, player, split);
+                break;
+            }
             case "help": {
                 // todo
                 break;
@@ -435,7 +534,10 @@ public class KittehBot implements Irc {
         }
         logDebug("Setting up a table for " + channel);
         final IrcStateCallback callback = new IrcStateCallback(this, channel);
-        tables.put(channel, new Table(callback, roster, config.game));
+        tables.put(channel, new Table(callback, roster, config.game, deckPool));
+        if (deckPool != null) {
+            logDebug(deckPool.toString());
+        }
     }
 
     @Override
@@ -0,0 +1,113 @@
+package me.ars.pokerbot.poker;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The shared cards on the table, prepared once so that every player's hand
+ * can be ranked by only adding their own cards to it.
+ */
+public final class Board {
+	/*
+	 * CardSet of the shared cards
+	 */
+	private final long cards;
+
+	/*
+	 * sum of the rank keys of the shared cards
+	 */
+	private final int key;
+
+	/*
+	 * number of shared cards of each suit, one nibble per suit
+	 */
+	private final int suitCounts;
+
+	private final Ranking ranking;
+
+	public Board(long cards) {
+		this(cards, Ranking.STANDARD);
+	}
+
+	/*
+	 * @param ranking how the hands on this board are ranked
+	 */
+	public Board(long cards, Ranking ranking) {
+		this.cards = cards;
+		this.key = key(cards);
+		this.suitCounts = suitCounts(cards);
+		this.ranking = ranking;
+	}
+
+	/*
+	 * @return the sum of the rank keys of the cards
+	 */
+	static int key(long cards) {
+		int key = 0;
+		for (long rest = cards; rest != 0; rest &= rest - 1) {
+			key += RankTables.RANK_KEYS[Long.numberOfTrailingZeros(rest) & 0xf];
+		}
+		return key;
+	}
+
+	/*
+	 * @return the number of cards of each suit, one nibble per suit
+	 */
+	static int suitCounts(long cards) {
+		int suitCounts = 0;
+		for (long rest = cards; rest != 0; rest &= rest - 1) {
+			suitCounts += 1 << (Long.numberOfTrailingZeros(rest) >>> 4 << 2);
+		}
+		return suitCounts;
+	}
+
+	public long getCards() {
+		return cards;
+	}
+
+	/*
+	 * @return the rank of the best hand out of the board and the two cards, as
+	 * given by HandEvaluator for the ranking of the board
+	 */
+	public int rank(Card card1, Card card2) {
+		final int bit1 = CardSet.bit(card1);
+		final int bit2 = CardSet.bit(card2);
+		return HandEvaluator.evaluate(ranking, key + RankTables.RANK_KEYS[bit1 & 0xf] + RankTables.RANK_KEYS[bit2 & 0xf],
+				suitCounts + (1 << (bit1 >>> 4 << 2)) + (1 << (bit2 >>> 4 << 2)),
+				cards | 1L << bit1 | 1L << bit2);
+	}
+
+	/*
+	 * Finds the cards that would improve the two cards to a better type of
+	 * hand if they came next. Only cards that neither the board nor the hand
+	 * holds are counted, and cards that improve the board just as much on its
+	 * own are left out.
+	 *
+	 * @return CardSets of the outs, by the type of hand each makes
+	 */
+	public Map<Hand.HandType, Long> outs(Card card1, Card card2) {
+		final int bit1 = CardSet.bit(card1);
+		final int bit2 = CardSet.bit(card2);
+		final long hand = cards | 1L << bit1 | 1L << bit2;
+		final int handKey = key + RankTables.RANK_KEYS[bit1 & 0xf] + RankTables.RANK_KEYS[bit2 & 0xf];
+		final int handSuitCounts = suitCounts + (1 << (bit1 >>> 4 << 2)) + (1 << (bit2 >>> 4 << 2));
+		final int type = HandEvaluator.evaluate(ranking, handKey, handSuitCounts, hand) >>> 20;
+		final Map<Hand.HandType, Long> outs = new EnumMap<>(Hand.HandType.class);
+		for (long rest = CardSet.remove(ranking.getCards(), hand); rest != 0; rest &= rest - 1) {
+			final int bit = Long.numberOfTrailingZeros(rest);
+			final int cardKey = RankTables.RANK_KEYS[bit & 0xf];
+			final int cardSuitCount = 1 << (bit >>> 4 << 2);
+			final int rank = HandEvaluator.evaluate(ranking, handKey + cardKey, handSuitCounts + cardSuitCount,
+					hand | 1L << bit);
+			if (rank >>> 20 > type && rank >>> 20 > HandEvaluator.evaluate(ranking, key + cardKey,
+					suitCounts + cardSuitCount, cards | 1L << bit) >>> 20) {
+				outs.merge(HandEvaluator.getHandType(rank), 1L << bit, (set, other) -> set | other);
+			}
+		}
+		return outs;
+	}
+
+	public Hand getBestHand(Player player, Card card1, Card card2) {
+		return new Hand(player, rank(card1, card2), cards | CardSet.of(card1) | CardSet.of(card2));
+	}
+}
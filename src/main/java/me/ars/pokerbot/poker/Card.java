@@ -4,8 +4,9 @@ import java.util.Arrays;
 /*
  * Note: this class has a natural ordering that is inconsistent with equals.
  * 
- * Equality testing via the equals method compares both suit and value, whereas
- * compareTo uses only value.
+ * There is only one instance of every card (see Card.of), so equality is
+ * identity and compares both suit and value, whereas compareTo uses only
+ * value.
  */
 public class Card implements Comparable<Card> {
 	public static enum Suit {
@@ -34,15 +35,48 @@ public class Card implements Comparable<Card> {
 	private final int value;
 	private final Suit suit;
 
-	public Card(final int value, final Suit suit) {
+	/*
+	 * position of the card in a fresh deck, 0..51
+	 */
+	private final int ordinal;
+
+	private static final Card[] deck = new Card[52];
+
+	static {
+		int index = 0;
+		for (Suit suit : Suit.values()) {
+			for (int value = 2; value <= 14; value++) {
+				deck[index] = new Card(value, suit, index);
+				index++;
+			}
+		}
+	}
+
+	private Card(final int value, final Suit suit, final int ordinal) {
 		this.value = value;
 		this.suit = suit;
+		this.ordinal = ordinal;
+	}
+
+	public static Card of(final int value, final Suit suit) {
+		if (value < 2 || value > 14) {
+			throw new IllegalArgumentException("Invalid card value: " + value);
+		}
+		return deck[suit.ordinal() * 13 + value - 2];
+	}
+
+	public static Card fromOrdinal(final int ordinal) {
+		return deck[ordinal];
 	}
 
 	public int getValue() {
 		return value;
 	}
 
+	public int ordinal() {
+		return ordinal;
+	}
+
 	public Suit getSuit() {
 		return suit;
 	}
@@ -78,33 +112,15 @@ public class Card implements Comparable<Card> {
 
 	@Override
 	public boolean equals(Object o) {
-		if (o instanceof Card) {
-			Card c = (Card) o;
-			return value == c.value && suit == c.suit;
-		}
-		return false;
+		return this == o;
 	}
 
 	@Override
 	public int hashCode() {
-		return 32 * suit.ordinal() + value;
+		return ordinal;
 	}
 
-	private static final Card[] deck = new Card[52];
-
 	public static Card[] getDeck() {
-		if (deck[0] == null) {
-			fillDeck();
-		}
 		return Arrays.copyOf(deck, deck.length);
 	}
-
-	private static void fillDeck() {
-		int index = 0;
-		for (Suit suit : Suit.values()) {
-			for (int value = 2; value <= 14; value++) {
-				deck[index++] = new Card(value, suit);
-			}
-		}
-	}
 }
@@ -0,0 +1,145 @@
+package me.ars.pokerbot.poker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sets of cards packed into a single long, so that boards, hands and dead
+ * cards can be combined and compared without allocating.
+ * <p>
+ * Every suit has 16 bits of its own, in {@link Card.Suit} order, and a card of
+ * value v (2..14) sets bit v - 2 of its suit. The 13 lowest bits of a suit
+ * thereby form a mask of the values held in that suit. Sets are iterated
+ * lowest bit first:
+ *
+ * <pre>
+ * for (long rest = set; rest != 0; rest &amp;= rest - 1) {
+ * 	final Card card = CardSet.toCard(Long.numberOfTrailingZeros(rest));
+ * }
+ * </pre>
+ */
+public final class CardSet {
+	public static final long EMPTY = 0L;
+
+	/*
+	 * values of a single suit
+	 */
+	private static final long SUIT = 0x1fffL;
+
+	/*
+	 * all 52 cards
+	 */
+	public static final long DECK = SUIT | SUIT << 16 | SUIT << 32 | SUIT << 48;
+
+	/*
+	 * bit index by card ordinal, and card by bit index
+	 */
+	private static final int[] BITS = new int[52];
+	private static final Card[] CARDS = new Card[64];
+
+	static {
+		for (Card card : Card.getDeck()) {
+			final int bit = card.getSuit().ordinal() << 4 | card.getValue() - 2;
+			BITS[card.ordinal()] = bit;
+			CARDS[bit] = card;
+		}
+	}
+
+	private CardSet() {
+	}
+
+	/*
+	 * @return the index of the bit that represents the card
+	 */
+	public static int bit(Card card) {
+		return BITS[card.ordinal()];
+	}
+
+	public static long of(Card card) {
+		return 1L << bit(card);
+	}
+
+	public static long of(Card... cards) {
+		long set = EMPTY;
+		for (Card card : cards) {
+			set |= of(card);
+		}
+		return set;
+	}
+
+	public static long of(Collection<Card> cards) {
+		long set = EMPTY;
+		for (Card card : cards) {
+			set |= of(card);
+		}
+		return set;
+	}
+
+	/*
+	 * @return the cards of every suit with the value
+	 */
+	public static long ofValue(int value) {
+		return 0x0001000100010001L << (value - 2);
+	}
+
+	public static long ofSuit(Card.Suit suit) {
+		return SUIT << (suit.ordinal() << 4);
+	}
+
+	public static long union(long set, long other) {
+		return set | other;
+	}
+
+	public static long remove(long set, long other) {
+		return set & ~other;
+	}
+
+	public static boolean contains(long set, Card card) {
+		return (set & of(card)) != 0;
+	}
+
+	public static boolean containsAll(long set, long other) {
+		return (set & other) == other;
+	}
+
+	public static boolean intersects(long set, long other) {
+		return (set & other) != 0;
+	}
+
+	public static int size(long set) {
+		return Long.bitCount(set);
+	}
+
+	/*
+	 * @return the values held in the suit, value v at bit v - 2
+	 */
+	public static int suitMask(long set, Card.Suit suit) {
+		return (int) (set >>> (suit.ordinal() << 4) & SUIT);
+	}
+
+	public static Card toCard(int bit) {
+		return CARDS[bit];
+	}
+
+	public static Card[] toCards(long set) {
+		final Card[] cards = new Card[size(set)];
+		int i = 0;
+		for (long rest = set; rest != 0; rest &= rest - 1) {
+			cards[i++] = toCard(Long.numberOfTrailingZeros(rest));
+		}
+		return cards;
+	}
+
+	public static List<Card> toList(long set) {
+		final List<Card> cards = new ArrayList<>(size(set));
+		for (long rest = set; rest != 0; rest &= rest - 1) {
+			cards.add(toCard(Long.numberOfTrailingZeros(rest)));
+		}
+		return cards;
+	}
+
+	public static String toString(long set) {
+		return toList(set).toString();
+	}
+}
@@ -0,0 +1,136 @@
+package me.ars.pokerbot.poker;
+
+import java.util.Random;
+
+/**
+ * The cards of one hand, kept as card ordinals in an array that is reused for
+ * every hand. Cards are dealt from a cursor, and resetting, shuffling and
+ * dealing allocate nothing.
+ * <p>
+ * Shuffling is lazy: every card dealt is one step of a Fisher-Yates shuffle,
+ * picked at random from the cards not dealt yet. That is as uniform as
+ * shuffling the whole deck first, and a hand only pays for the cards it
+ * deals.
+ */
+public final class Deck {
+	/*
+	 * ordinals of the cards in the order they are dealt, the first size of
+	 * them in use
+	 */
+	private final byte[] cards = new byte[52];
+	private int size;
+
+	/*
+	 * index of the next card to deal
+	 */
+	private int next;
+
+	/*
+	 * picks every card as it is dealt, or null if the cards are dealt in order
+	 */
+	private Random random;
+
+	/*
+	 * a standard deck in a fresh order
+	 */
+	public Deck() {
+		reset(Ranking.STANDARD);
+	}
+
+	/*
+	 * Puts every card of the ranking's deck back in the order of
+	 * Card.getDeck.
+	 */
+	public void reset(Ranking ranking) {
+		size = 0;
+		for (long rest = ranking.getCards(); rest != 0; rest &= rest - 1) {
+			final int bit = Long.numberOfTrailingZeros(rest);
+			cards[size++] = (byte) ((bit >>> 4) * 13 + (bit & 0xf));
+		}
+		next = 0;
+		random = null;
+	}
+
+	/*
+	 * Puts back the cards of a standard deck in the given order, leaving out
+	 * those the ranking's deck does not have.
+	 *
+	 * @param ordinals the ordinals of all 52 cards
+	 */
+	void load(byte[] ordinals, Ranking ranking) {
+		final long deck = ranking.getCards();
+		size = 0;
+		for (byte ordinal : ordinals) {
+			if ((deck & 1L << CardSet.bit(Card.fromOrdinal(ordinal))) != 0) {
+				cards[size++] = ordinal;
+			}
+		}
+		next = 0;
+		random = null;
+	}
+
+	/*
+	 * Copies the ordinals of all cards in the order they are dealt, picking
+	 * the order of the cards that have not been dealt yet.
+	 */
+	void copyTo(byte[] ordinals) {
+		if (random != null) {
+			for (int i = next; i < size - 1; i++) {
+				pick(i);
+			}
+			random = null;
+		}
+		System.arraycopy(cards, 0, ordinals, 0, size);
+	}
+
+	/*
+	 * Shuffles the cards that have not been dealt yet, one at a time as they
+	 * are dealt.
+	 *
+	 * @param random the generator to pick the cards with, kept until the deck
+	 * is reset
+	 */
+	public void shuffle(Random random) {
+		this.random = random;
+	}
+
+	/*
+	 * Swaps a card picked at random from the position and those after it into
+	 * the position.
+	 */
+	private void pick(int position) {
+		final int j = position + random.nextInt(size - position);
+		final byte card = cards[position];
+		cards[position] = cards[j];
+		cards[j] = card;
+	}
+
+	/*
+	 * @return the next card
+	 * @throws IllegalStateException if every card has been dealt
+	 */
+	public Card deal() {
+		if (next == size) {
+			throw new IllegalStateException("No cards left in the deck");
+		}
+		// the last card has nowhere else to go
+		if (random != null && next < size - 1) {
+			pick(next);
+		}
+		return Card.fromOrdinal(cards[next++]);
+	}
+
+	/*
+	 * @return the number of cards left to deal
+	 */
+	public int remaining() {
+		return size - next;
+	}
+
+	/*
+	 * Deals out every remaining card at once, such as when the game ends.
+	 */
+	public void clear() {
+		next = size;
+	}
+}
@@ -0,0 +1,120 @@
+package me.ars.pokerbot.poker;
+
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shuffles decks ahead of time on a thread of its own, so that tables using a
+ * slow generator such as SecureRandom never wait for one at the start of a
+ * hand.
+ * <p>
+ * Shuffled decks are card ordinals in a fixed ring of buffers that move
+ * between a queue of free buffers and a queue of shuffled ones, so nothing is
+ * allocated once the pool is running. A table that finds the pool empty
+ * shuffles its deck itself and the pool counts it as a fallback.
+ */
+public final class DeckPool implements AutoCloseable {
+	private final BlockingQueue<byte[]> free;
+	private final BlockingQueue<byte[]> shuffled;
+	private final Random random;
+	private final Thread producer;
+	private final LongAdder fallbacks = new LongAdder();
+
+	/*
+	 * @param capacity how many shuffled decks to keep ready
+	 * @param random the generator the decks are shuffled with, used only by
+	 * the producer
+	 */
+	public DeckPool(int capacity, Random random) {
+		this(capacity, random, true);
+	}
+
+	/*
+	 * @param start false to leave the pool empty, for tests
+	 */
+	DeckPool(int capacity, Random random, boolean start) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid deck pool size: " + capacity);
+		}
+		free = new ArrayBlockingQueue<>(capacity);
+		shuffled = new ArrayBlockingQueue<>(capacity);
+		for (int i = 0; i < capacity; i++) {
+			free.add(new byte[52]);
+		}
+		this.random = random;
+		producer = new Thread(this::produce, "deck-pool");
+		producer.setDaemon(true);
+		if (start) {
+			producer.start();
+		}
+	}
+
+	private void produce() {
+		final Deck deck = new Deck();
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				final byte[] buffer = free.take();
+				deck.reset(Ranking.STANDARD);
+				deck.shuffle(random);
+				deck.copyTo(buffer);
+				shuffled.put(buffer);
+			}
+		} catch (InterruptedException e) {
+			// closed
+		}
+	}
+
+	/*
+	 * Fills the deck with the next shuffled deck of the pool, keeping only the
+	 * cards of the ranking, or shuffles it with the fallback generator if none
+	 * is ready. Never waits for the producer.
+	 *
+	 * @param fallback the generator of the calling table
+	 */
+	public void take(Deck deck, Ranking ranking, Random fallback) {
+		final byte[] buffer = shuffled.poll();
+		if (buffer == null) {
+			fallbacks.increment();
+			deck.reset(ranking);
+			deck.shuffle(fallback);
+			return;
+		}
+		// leaving cards out of a uniform shuffle keeps the rest uniformly shuffled
+		deck.load(buffer, ranking);
+		free.add(buffer);
+	}
+
+	/*
+	 * @return the number of shuffled decks ready to be taken
+	 */
+	public int getDepth() {
+		return shuffled.size();
+	}
+
+	public int getCapacity() {
+		return shuffled.size() + shuffled.remainingCapacity();
+	}
+
+	/*
+	 * @return how many times a deck was taken from the empty pool and shuffled
+	 * by the table itself
+	 */
+	public long getFallbacks() {
+		return fallbacks.sum();
+	}
+
+	/*
+	 * Stops the producer. Decks already shuffled can still be taken.
+	 */
+	@Override
+	public void close() {
+		producer.interrupt();
+	}
+
+	@Override
+	public String toString() {
+		return "DeckPool[" + getDepth() + "/" + getCapacity() + " decks, " + getFallbacks() + " fallbacks]";
+	}
+}
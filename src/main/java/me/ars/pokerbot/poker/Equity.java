@@ -0,0 +1,116 @@
+package me.ars.pokerbot.poker;
+
+import java.util.Locale;
+
+/**
+ * How often each of a number of hands wins or ties over the runouts of a
+ * board, in the order the hands were given.
+ */
+public final class Equity {
+	private final long runouts;
+
+	/*
+	 * sum of the weights of all runouts, which is the number of runouts unless
+	 * they came from weighted ranges
+	 */
+	private final double total;
+
+	/*
+	 * weighted counts of runouts won and tied
+	 */
+	private final double[] wins;
+	private final double[] ties;
+
+	/*
+	 * weighted sum of the share of the pot won in every runout
+	 */
+	private final double[] shares;
+
+	private final boolean exact;
+
+	/*
+	 * half width of the 95% confidence interval of the least certain equity
+	 */
+	private final double error;
+
+	Equity(long runouts, double total, double[] wins, double[] ties, double[] shares, boolean exact,
+			double error) {
+		this.runouts = runouts;
+		this.total = total;
+		this.wins = wins;
+		this.ties = ties;
+		this.shares = shares;
+		this.exact = exact;
+		this.error = exact ? 0 : error;
+	}
+
+	/*
+	 * @return the equity of two hands looked up in a table, which only knows
+	 * their expected shares of the pot, so that their wins, ties and error are
+	 * NaN
+	 */
+	static Equity headsUp(double first) {
+		return new Equity(0, 1, new double[] { Double.NaN, Double.NaN }, new double[] { Double.NaN, Double.NaN },
+				new double[] { first, 1 - first }, false, Double.NaN);
+	}
+
+	/*
+	 * @return the number of runouts the equity is based on
+	 */
+	public long getRunouts() {
+		return runouts;
+	}
+
+	/*
+	 * @return whether every possible runout was counted, rather than a sample
+	 */
+	public boolean isExact() {
+		return exact;
+	}
+
+	/*
+	 * @return how far off any of the equities may be, with 95% confidence, 0
+	 * if they are exact
+	 */
+	public double getError() {
+		return error;
+	}
+
+	public int getHands() {
+		return wins.length;
+	}
+
+	/*
+	 * @return the probability that the hand wins alone, NaN if not known
+	 */
+	public double getWin(int hand) {
+		return wins[hand] / total;
+	}
+
+	/*
+	 * @return the probability that the hand splits the pot, NaN if not known
+	 */
+	public double getTie(int hand) {
+		return ties[hand] / total;
+	}
+
+	/*
+	 * @return the expected share of the pot
+	 */
+	public double getEquity(int hand) {
+		return shares[hand] / total;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		for (int hand = 0; hand < getHands(); hand++) {
+			if (hand > 0) {
+				builder.append(", ");
+			}
+			builder.append(String.format(Locale.ROOT, "%.1f%% (win %.1f%%, tie %.1f%%)", 100 * getEquity(hand),
+					100 * getWin(hand), 100 * getTie(hand)));
+		}
+		return builder.append(exact ? " exact" : " over " + runouts + " runouts").toString();
+	}
+}
@@ -0,0 +1,173 @@
+package me.ars.pokerbot.poker;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the equity of hole cards against a number of random hands, so
+ * that questions asked again, such as repeated odds requests in one betting
+ * round or the same preflop hand in every other deal, are answered at once.
+ * <p>
+ * Entries are keyed by the {@link HandIndexer} index of the hole cards and the
+ * board, which is the same for hands that only differ by a permutation of
+ * suits and therefore have the same equity. Boards of 1 or 2 cards are never
+ * cached. The cache holds as many entries as fit in its memory ceiling. It is
+ * split into segments with a lock of their own, so that threads rarely wait
+ * for each other, and each segment drops its least recently used entries
+ * first.
+ */
+public final class EquityCache {
+	/*
+	 * rough heap cost of an entry: the map entry with its links, the boxed key
+	 * and an Equity of one hand with its arrays
+	 */
+	static final int ENTRY_BYTES = 200;
+
+	private static final int SEGMENTS = 16;
+
+	/*
+	 * indexer by the number of board cards, null where boards are not cached
+	 */
+	private static final HandIndexer[] INDEXERS = { HandIndexer.PREFLOP, null, null, HandIndexer.FLOP,
+			HandIndexer.TURN, HandIndexer.RIVER };
+
+	private final Segment[] segments = new Segment[SEGMENTS];
+	private final long maxEntries;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/*
+	 * @param maxBytes memory the entries may take up, 0 to cache nothing
+	 */
+	public EquityCache(long maxBytes) {
+		if (maxBytes < 0) {
+			throw new IllegalArgumentException("Invalid cache size: " + maxBytes);
+		}
+		final long entries = maxBytes / ENTRY_BYTES;
+		for (int i = 0; i < SEGMENTS; i++) {
+			// the remainder goes to the first segments, so the total is exactly entries
+			segments[i] = new Segment(entries / SEGMENTS + (i < entries % SEGMENTS ? 1 : 0));
+		}
+		maxEntries = entries;
+	}
+
+	/*
+	 * @return the key of the question, or -1 if it cannot be cached
+	 */
+	static long key(long holeCards, int randomHands, long board) {
+		final int boardSize = CardSet.size(board);
+		if (boardSize >= INDEXERS.length || INDEXERS[boardSize] == null || randomHands < 0 || randomHands >= 32) {
+			return -1;
+		}
+		final long index = boardSize == 0 ? HandIndexer.PREFLOP.index(holeCards)
+				: INDEXERS[boardSize].index(holeCards, board);
+		return index << 8 | boardSize << 5 | randomHands;
+	}
+
+	/*
+	 * @return the cached equity of the hole cards against the random hands on
+	 * the board, or null
+	 */
+	public Equity get(long holeCards, int randomHands, long board) {
+		final long key = key(holeCards, randomHands, board);
+		if (key < 0) {
+			misses.increment();
+			return null;
+		}
+		final Segment segment = segment(key);
+		final Equity equity;
+		synchronized (segment) {
+			equity = segment.get(key);
+		}
+		if (equity == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return equity;
+	}
+
+	/*
+	 * Caches the equity unless the entry already cached for the question is
+	 * more precise.
+	 */
+	public void put(long holeCards, int randomHands, long board, Equity equity) {
+		final long key = key(holeCards, randomHands, board);
+		if (key < 0 || maxEntries == 0) {
+			return;
+		}
+		final Segment segment = segment(key);
+		synchronized (segment) {
+			final Equity cached = segment.get(key);
+			if (cached == null || equity.getError() <= cached.getError()) {
+				segment.put(key, equity);
+			}
+		}
+	}
+
+	private Segment segment(long key) {
+		// the low bits are the board size and hand count, so spread the index over the segments
+		final long mixed = key * 0x9e3779b97f4a7c15L;
+		return segments[(int) (mixed >>> 60)];
+	}
+
+	public long getHits() {
+		return hits.sum();
+	}
+
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/*
+	 * @return the number of cached entries
+	 */
+	public long size() {
+		long size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	public long getMaxEntries() {
+		return maxEntries;
+	}
+
+	@Override
+	public String toString() {
+		return "EquityCache[" + size() + "/" + maxEntries + " entries, " + getHits() + " hits, " + getMisses()
+				+ " misses, " + getEvictions() + " evictions]";
+	}
+
+	/*
+	 * Part of the entries in access order, guarded by its own monitor
+	 */
+	private final class Segment extends LinkedHashMap<Long, Equity> {
+		private static final long serialVersionUID = 1L;
+
+		private final long capacity;
+
+		Segment(long capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, Equity> eldest) {
+			if (size() > capacity) {
+				evictions.increment();
+				return true;
+			}
+			return false;
+		}
+	}
+}
@@ -0,0 +1,609 @@
+package me.ars.pokerbot.poker;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estimates the equity of hole cards by dealing random runouts of the board
+ * on all threads of a fork-join pool. Sampling stops once the 95% confidence
+ * interval of every hand's equity is within the allowed error, or when the
+ * time budget runs out.
+ * <p>
+ * When few cards are missing from the board, {@link #enumerate} counts every
+ * runout instead.
+ * <p>
+ * Hands can also be given as {@link Range}s. Sampling then deals each range
+ * one of its combinations in proportion to its weight, dealing them all again
+ * whenever two of them share a card, so that ranges are only ever paired with
+ * hole cards they can be held against. Enumeration goes through every such
+ * pairing instead, which is only practical on the turn and river or for
+ * narrow ranges.
+ */
+public final class EquityCalculator {
+	/*
+	 * standard scores of a 95% confidence interval
+	 */
+	private static final double Z = 1.96;
+
+	/*
+	 * most runouts dealt by a thread between looking at the totals and the
+	 * clock. Batches start out small and shrink again as the deadline nears,
+	 * so that sampling stops close to it.
+	 */
+	private static final int BATCH = 4096;
+	private static final int MIN_BATCH = 64;
+
+	/*
+	 * runouts needed before the variance is trusted
+	 */
+	private static final long MIN_RUNOUTS = 10_000;
+
+	private static final int BOARD_SIZE = 5;
+
+	private final ForkJoinPool pool;
+	private final double maxError;
+	private final long timeBudget;
+
+	/*
+	 * @param maxError the largest allowed half width of the confidence interval
+	 * of an equity, 0 to use the whole time budget
+	 */
+	public EquityCalculator(ForkJoinPool pool, double maxError, long timeBudget, TimeUnit unit) {
+		this.pool = pool;
+		this.maxError = maxError;
+		this.timeBudget = unit.toNanos(timeBudget);
+	}
+
+	/*
+	 * @param holeCards a CardSet of the hole cards of every hand
+	 * @param board a CardSet of the cards on the board so far
+	 * @param dead a CardSet of cards known to be out of the deck
+	 */
+	public Equity calculate(long[] holeCards, long board, long dead) {
+		return calculate(holeCards, 0, board, dead);
+	}
+
+	/*
+	 * @param randomHands number of further hands with unknown hole cards, dealt
+	 * at random in every runout and left out of the result
+	 */
+	public Equity calculate(long[] holeCards, int randomHands, long board, long dead) {
+		return calculate(holeCards, randomHands, board, dead, System.nanoTime() + timeBudget);
+	}
+
+	/*
+	 * @param deadline System.nanoTime() by which to stop sampling, every thread
+	 * deals at least one small batch even if it has already passed
+	 */
+	Equity calculate(long[] holeCards, int randomHands, long board, long dead, long deadline) {
+		return calculate(holeCards, randomHands, board, dead, deadline, pool.getParallelism());
+	}
+
+	/*
+	 * Samples on the calling thread only, leaving the pool alone, for callers
+	 * that share out their own threads.
+	 */
+	Equity calculateOnThisThread(long[] holeCards, int randomHands, long board, long dead, long deadline) {
+		return calculate(holeCards, randomHands, board, dead, deadline, 1);
+	}
+
+	private Equity calculate(long[] holeCards, int randomHands, long board, long dead, long deadline, int threads) {
+		final long deck = remainingDeck(holeCards, randomHands, board, dead);
+		final Tally tally = new Tally(holeCards, deadline);
+		if (randomHands == 0 && CardSet.size(board) == BOARD_SIZE) {
+			tally.score(board, Board.key(board), Board.suitCounts(board), -1, 0);
+			return tally.toEquity(true);
+		}
+		final Sampler sampler = new Sampler(holeCards, randomHands, board, deck, tally, new SplittableRandom(),
+				threads);
+		if (threads == 1) {
+			sampler.compute();
+		} else if (ForkJoinTask.getPool() == pool) {
+			sampler.invoke();
+		} else {
+			pool.invoke(sampler);
+		}
+		return tally.toEquity(false);
+	}
+
+	/*
+	 * @param ranges the range of every hand
+	 * @param board a CardSet of the cards on the board so far
+	 * @param dead a CardSet of cards known to be out of the deck
+	 */
+	public Equity calculate(Range[] ranges, long board, long dead) {
+		final long deadline = System.nanoTime() + timeBudget;
+		final Range[] live = liveRanges(ranges, board, dead);
+		final Tally tally = new Tally(new long[ranges.length], deadline);
+		final RangeSampler sampler = new RangeSampler(live, board, CardSet.remove(CardSet.DECK, board | dead), tally,
+				new SplittableRandom(), pool.getParallelism());
+		if (ForkJoinTask.getPool() == pool) {
+			sampler.invoke();
+		} else {
+			pool.invoke(sampler);
+		}
+		return tally.toEquity(false);
+	}
+
+	/*
+	 * Counts every possible runout of the board. Heads-up that is 990 runouts
+	 * on the flop and 1,712,304 before it, and fewer with more hands.
+	 *
+	 * @param holeCards a CardSet of the hole cards of every hand
+	 * @param board a CardSet of the cards on the board so far
+	 * @param dead a CardSet of cards known to be out of the deck
+	 */
+	public static Equity enumerate(long[] holeCards, long board, long dead) {
+		final long deck = remainingDeck(holeCards, board, dead);
+		final Tally tally = new Tally(holeCards, 0);
+		enumerate(tally, deck, BOARD_SIZE - CardSet.size(board), board, Board.key(board), Board.suitCounts(board));
+		return tally.toEquity(true);
+	}
+
+	/*
+	 * Scores every board made of the given board and the given number of
+	 * cards from the deck.
+	 */
+	private static void enumerate(Tally tally, long deck, int missing, long board, int key, int suitCounts) {
+		if (missing == 0) {
+			tally.score(board, key, suitCounts, -1, 0);
+			return;
+		}
+		// every card is followed by higher cards only, so that each board is dealt once
+		for (long rest = deck; CardSet.size(rest) >= missing; rest &= rest - 1) {
+			final int bit = Long.numberOfTrailingZeros(rest);
+			enumerate(tally, rest & (rest - 1), missing - 1, board | 1L << bit, key + RankTables.RANK_KEYS[bit & 0xf],
+					suitCounts + (1 << (bit >>> 4 << 2)));
+		}
+	}
+
+	/*
+	 * Counts every possible runout of the board for every combination of hole
+	 * cards the ranges can hold together, each weighted by the product of
+	 * their weights.
+	 */
+	public static Equity enumerate(Range[] ranges, long board, long dead) {
+		final Range[] live = liveRanges(ranges, board, dead);
+		final Tally tally = new Tally(new long[ranges.length], 0);
+		enumerate(tally, live, 0, board | dead, 1, board);
+		return tally.toEquity(true);
+	}
+
+	private static void enumerate(Tally tally, Range[] ranges, int hand, long used, double weight, long board) {
+		if (hand == ranges.length) {
+			tally.weight = weight;
+			enumerate(tally, CardSet.remove(CardSet.DECK, used), BOARD_SIZE - CardSet.size(board), board,
+					Board.key(board), Board.suitCounts(board));
+			return;
+		}
+		final Range range = ranges[hand];
+		for (int i = 0; i < range.size(); i++) {
+			final long cards = range.getCombination(i);
+			if (!CardSet.intersects(used, cards)) {
+				tally.setHoleCards(hand, cards);
+				enumerate(tally, ranges, hand + 1, used | cards, weight * range.getWeight(i), board);
+			}
+		}
+	}
+
+	/*
+	 * @return the ranges without the combinations that hold board or dead cards
+	 */
+	static Range[] liveRanges(Range[] ranges, long board, long dead) {
+		if (ranges.length == 0 || CardSet.size(board) > BOARD_SIZE) {
+			throw new IllegalArgumentException("Need ranges and at most five board cards");
+		}
+		if (CardSet.size(CardSet.remove(CardSet.DECK, board | dead)) < BOARD_SIZE - CardSet.size(board)
+				+ 2 * ranges.length) {
+			throw new IllegalArgumentException("Not enough cards left for the board and " + ranges.length + " hands");
+		}
+		final Range[] live = new Range[ranges.length];
+		for (int hand = 0; hand < ranges.length; hand++) {
+			live[hand] = ranges[hand].remove(board | dead);
+		}
+		if (!canDeal(live, 0, CardSet.EMPTY)) {
+			throw new IllegalArgumentException("The ranges cannot be held together");
+		}
+		return live;
+	}
+
+	/*
+	 * @return whether the ranges from the given one on can all be dealt hole
+	 * cards other than the used ones
+	 */
+	private static boolean canDeal(Range[] ranges, int hand, long used) {
+		if (hand == ranges.length) {
+			return true;
+		}
+		final Range range = ranges[hand];
+		for (int i = 0; i < range.size(); i++) {
+			final long cards = range.getCombination(i);
+			if (!CardSet.intersects(used, cards) && canDeal(ranges, hand + 1, used | cards)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/*
+	 * @return the cards that can still come on the board
+	 */
+	static long remainingDeck(long[] holeCards, long board, long dead) {
+		return remainingDeck(holeCards, 0, board, dead);
+	}
+
+	/*
+	 * @return the cards that can still come on the board or go to the random hands
+	 */
+	static long remainingDeck(long[] holeCards, int randomHands, long board, long dead) {
+		if (holeCards.length == 0 || CardSet.size(board) > BOARD_SIZE) {
+			throw new IllegalArgumentException("Need hole cards and at most five board cards");
+		}
+		long used = board | dead;
+		for (long cards : holeCards) {
+			if (CardSet.size(cards) != 2 || CardSet.intersects(used, cards)) {
+				throw new IllegalArgumentException("Invalid hole cards: " + CardSet.toString(cards));
+			}
+			used |= cards;
+		}
+		final long deck = CardSet.remove(CardSet.DECK, used);
+		if (randomHands < 0 || CardSet.size(deck) < BOARD_SIZE - CardSet.size(board) + 2 * randomHands) {
+			throw new IllegalArgumentException("Not enough cards left for the board and " + randomHands
+					+ " random hands");
+		}
+		return deck;
+	}
+
+	/*
+	 * Deals runouts in batches on each of a number of threads, until the tally
+	 * has seen enough.
+	 */
+	private final class Sampler extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final long[] holeCards;
+		private final int randomHands;
+		private final long board;
+		private final long deck;
+		private final Tally tally;
+		private final SplittableRandom random;
+		private final int threads;
+
+		Sampler(long[] holeCards, int randomHands, long board, long deck, Tally tally, SplittableRandom random,
+				int threads) {
+			this.holeCards = holeCards;
+			this.randomHands = randomHands;
+			this.board = board;
+			this.deck = deck;
+			this.tally = tally;
+			this.random = random;
+			this.threads = threads;
+		}
+
+		@Override
+		protected void compute() {
+			if (threads > 1) {
+				final int half = threads / 2;
+				final Sampler other = new Sampler(holeCards, randomHands, board, deck, tally, random.split(), half);
+				other.fork();
+				new Sampler(holeCards, randomHands, board, deck, tally, random, threads - half).compute();
+				other.join();
+				return;
+			}
+
+			final int[] cards = new int[CardSet.size(deck)];
+			int n = 0;
+			for (long rest = deck; rest != 0; rest &= rest - 1) {
+				cards[n++] = Long.numberOfTrailingZeros(rest);
+			}
+			final int missing = BOARD_SIZE - CardSet.size(board);
+			final int dealt = missing + 2 * randomHands;
+			final int boardKey = Board.key(board);
+			final int boardSuitCounts = Board.suitCounts(board);
+			final Tally batch = new Tally(holeCards, 0);
+			final BatchSizer sizer = new BatchSizer(tally.deadline);
+			do {
+				batch.clear();
+				for (int runout = sizer.next(); runout > 0; runout--) {
+					long fullBoard = board;
+					int key = boardKey;
+					int suitCounts = boardSuitCounts;
+					// the first cards of a partial shuffle, which leaves a permutation behind for the next one
+					for (int i = 0; i < dealt; i++) {
+						final int j = i + random.nextInt(n - i);
+						final int bit = cards[j];
+						cards[j] = cards[i];
+						cards[i] = bit;
+					}
+					for (int i = 0; i < missing; i++) {
+						final int bit = cards[i];
+						fullBoard |= 1L << bit;
+						key += RankTables.RANK_KEYS[bit & 0xf];
+						suitCounts += 1 << (bit >>> 4 << 2);
+					}
+					int othersBest = -1;
+					int othersAtBest = 0;
+					for (int i = missing; i < dealt; i += 2) {
+						final int bit1 = cards[i];
+						final int bit2 = cards[i + 1];
+						final int rank = HandEvaluator.evaluate(
+								key + RankTables.RANK_KEYS[bit1 & 0xf] + RankTables.RANK_KEYS[bit2 & 0xf],
+								suitCounts + (1 << (bit1 >>> 4 << 2)) + (1 << (bit2 >>> 4 << 2)),
+								fullBoard | 1L << bit1 | 1L << bit2);
+						if (rank > othersBest) {
+							othersBest = rank;
+							othersAtBest = 1;
+						} else if (rank == othersBest) {
+							othersAtBest++;
+						}
+					}
+					batch.score(fullBoard, key, suitCounts, othersBest, othersAtBest);
+				}
+			} while (!tally.add(batch, maxError) && sizer.hasTime());
+		}
+	}
+
+	/*
+	 * Deals hole cards from ranges and then runouts in batches, on each of a
+	 * number of threads, until the tally has seen enough.
+	 */
+	private final class RangeSampler extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Range[] ranges;
+		private final long board;
+		private final long deck;
+		private final Tally tally;
+		private final SplittableRandom random;
+		private final int threads;
+
+		RangeSampler(Range[] ranges, long board, long deck, Tally tally, SplittableRandom random, int threads) {
+			this.ranges = ranges;
+			this.board = board;
+			this.deck = deck;
+			this.tally = tally;
+			this.random = random;
+			this.threads = threads;
+		}
+
+		@Override
+		protected void compute() {
+			if (threads > 1) {
+				final int half = threads / 2;
+				final RangeSampler other = new RangeSampler(ranges, board, deck, tally, random.split(), half);
+				other.fork();
+				new RangeSampler(ranges, board, deck, tally, random, threads - half).compute();
+				other.join();
+				return;
+			}
+
+			final int[] cards = new int[CardSet.size(deck)];
+			int n = 0;
+			for (long rest = deck; rest != 0; rest &= rest - 1) {
+				cards[n++] = Long.numberOfTrailingZeros(rest);
+			}
+			final int missing = BOARD_SIZE - CardSet.size(board);
+			final int boardKey = Board.key(board);
+			final int boardSuitCounts = Board.suitCounts(board);
+			final Tally batch = new Tally(new long[ranges.length], 0);
+			final BatchSizer sizer = new BatchSizer(tally.deadline);
+			do {
+				batch.clear();
+				for (int runout = sizer.next(); runout > 0; runout--) {
+					final long used = deal(batch);
+					long fullBoard = board;
+					int key = boardKey;
+					int suitCounts = boardSuitCounts;
+					// a partial shuffle as in Sampler, passing over the cards the hands hold
+					for (int i = 0; i < missing; i++) {
+						int j;
+						do {
+							j = i + random.nextInt(n - i);
+						} while ((used >>> cards[j] & 1) != 0);
+						final int bit = cards[j];
+						cards[j] = cards[i];
+						cards[i] = bit;
+						fullBoard |= 1L << bit;
+						key += RankTables.RANK_KEYS[bit & 0xf];
+						suitCounts += 1 << (bit >>> 4 << 2);
+					}
+					batch.score(fullBoard, key, suitCounts, -1, 0);
+				}
+			} while (!tally.add(batch, maxError) && sizer.hasTime());
+		}
+
+		/*
+		 * Gives every hand of the tally a combination of its range, so that no
+		 * two share a card.
+		 *
+		 * @return a CardSet of all hole cards dealt
+		 */
+		private long deal(Tally batch) {
+			while (true) {
+				long used = CardSet.EMPTY;
+				int hand = 0;
+				for (; hand < ranges.length; hand++) {
+					final long cards = ranges[hand].sample(random);
+					if (CardSet.intersects(used, cards)) {
+						break;
+					}
+					used |= cards;
+					batch.setHoleCards(hand, cards);
+				}
+				if (hand == ranges.length) {
+					return used;
+				}
+			}
+		}
+	}
+
+	/*
+	 * Picks the size of every batch of one thread from how fast its earlier
+	 * batches went, so that the last one ends about when the deadline passes.
+	 */
+	private static final class BatchSizer {
+		private final long deadline;
+		private final long start = System.nanoTime();
+		private long runouts;
+		private int size;
+
+		BatchSizer(long deadline) {
+			this.deadline = deadline;
+		}
+
+		/*
+		 * @return the number of runouts to deal next
+		 */
+		int next() {
+			if (runouts == 0) {
+				size = MIN_BATCH;
+			} else {
+				final long now = System.nanoTime();
+				final double nanosPerRunout = (double) Math.max(1, now - start) / runouts;
+				size = (int) Math.max(MIN_BATCH, Math.min(BATCH, (deadline - now) / nanosPerRunout));
+			}
+			runouts += size;
+			return size;
+		}
+
+		/*
+		 * @return whether there is time for another batch
+		 */
+		boolean hasTime() {
+			return System.nanoTime() < deadline;
+		}
+	}
+
+	/*
+	 * Wins, ties and pot shares over a number of runouts
+	 */
+	private static final class Tally {
+		private final long[] holeCards;
+		private final int[] holeKeys;
+		private final int[] holeSuitCounts;
+		private final long deadline;
+		private final int[] ranks;
+		private long runouts;
+		private double total;
+		private final double[] wins;
+		private final double[] ties;
+		private final double[] shares;
+		private final double[] squaredShares;
+
+		/*
+		 * weight of the runouts scored next, when enumerating ranges
+		 */
+		double weight = 1;
+
+		Tally(long[] holeCards, long deadline) {
+			final int hands = holeCards.length;
+			this.holeCards = holeCards.clone();
+			holeKeys = new int[hands];
+			holeSuitCounts = new int[hands];
+			for (int hand = 0; hand < hands; hand++) {
+				holeKeys[hand] = Board.key(holeCards[hand]);
+				holeSuitCounts[hand] = Board.suitCounts(holeCards[hand]);
+			}
+			this.deadline = deadline;
+			ranks = new int[hands];
+			wins = new double[hands];
+			ties = new double[hands];
+			shares = new double[hands];
+			squaredShares = new double[hands];
+		}
+
+		void setHoleCards(int hand, long cards) {
+			holeCards[hand] = cards;
+			holeKeys[hand] = Board.key(cards);
+			holeSuitCounts[hand] = Board.suitCounts(cards);
+		}
+
+		void clear() {
+			runouts = 0;
+			total = 0;
+			for (int hand = 0; hand < ranks.length; hand++) {
+				wins[hand] = 0;
+				ties[hand] = 0;
+				shares[hand] = 0;
+				squaredShares[hand] = 0;
+			}
+		}
+
+		/*
+		 * Counts a single runout.
+		 *
+		 * @param key sum of the rank keys of the board
+		 * @param suitCounts number of board cards of each suit, one nibble per suit
+		 * @param othersBest best rank among hands that are not counted, -1 if there are none
+		 * @param othersAtBest number of those hands with that rank
+		 */
+		void score(long board, int key, int suitCounts, int othersBest, int othersAtBest) {
+			int best = othersBest;
+			int winners = othersAtBest;
+			for (int hand = 0; hand < holeCards.length; hand++) {
+				final int rank = HandEvaluator.evaluate(key + holeKeys[hand], suitCounts + holeSuitCounts[hand],
+						board | holeCards[hand]);
+				ranks[hand] = rank;
+				if (rank > best) {
+					best = rank;
+					winners = 1;
+				} else if (rank == best) {
+					winners++;
+				}
+			}
+			final double share = 1.0 / winners;
+			for (int hand = 0; hand < ranks.length; hand++) {
+				if (ranks[hand] == best) {
+					if (winners == 1) {
+						wins[hand] += weight;
+					} else {
+						ties[hand] += weight;
+					}
+					shares[hand] += share * weight;
+					squaredShares[hand] += share * share * weight;
+				}
+			}
+			runouts++;
+			total += weight;
+		}
+
+		/*
+		 * Adds a batch of another thread.
+		 *
+		 * @return whether sampling should stop
+		 */
+		synchronized boolean add(Tally batch, double maxError) {
+			runouts += batch.runouts;
+			total += batch.total;
+			for (int hand = 0; hand < ranks.length; hand++) {
+				wins[hand] += batch.wins[hand];
+				ties[hand] += batch.ties[hand];
+				shares[hand] += batch.shares[hand];
+				squaredShares[hand] += batch.squaredShares[hand];
+			}
+			return runouts >= MIN_RUNOUTS && error() <= maxError || System.nanoTime() >= deadline;
+		}
+
+		/*
+		 * @return half width of the confidence interval of the least certain
+		 * hand's equity
+		 */
+		private double error() {
+			double error = 0;
+			for (int hand = 0; hand < ranks.length; hand++) {
+				final double mean = shares[hand] / runouts;
+				final double variance = Math.max(0, squaredShares[hand] / runouts - mean * mean);
+				error = Math.max(error, Z * Math.sqrt(variance / runouts));
+			}
+			return error;
+		}
+
+		synchronized Equity toEquity(boolean exact) {
+			return new Equity(runouts, total, wins.clone(), ties.clone(), shares.clone(), exact,
+					exact || runouts == 0 ? 0 : error());
+		}
+	}
+}
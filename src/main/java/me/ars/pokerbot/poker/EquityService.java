@@ -0,0 +1,122 @@
+package me.ars.pokerbot.poker;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Answers equity requests on a pool of its own within a fixed time of their
+ * arrival, so that callers such as the IRC thread never wait for them.
+ * <p>
+ * Every request is sampled on one thread of the pool, and only for its share
+ * of the time left to its deadline: when others are queued behind it, it
+ * stops early enough that they can still answer in time. So when many arrive
+ * at once, each gets fewer runouts rather than a later answer. When too many
+ * are already waiting, new ones are turned down.
+ * <p>
+ * Answers precise to within half a percentage point are kept in an
+ * {@link EquityCache}, and a request it can answer is handed its answer
+ * straight away. Rougher ones, such as those sampled while many requests
+ * were queued, are not kept, so they are never handed out again.
+ */
+public final class EquityService {
+	/*
+	 * largest error of an answer worth caching, half a percentage point
+	 */
+	static final double MAX_CACHED_ERROR = 0.005;
+
+	private final ForkJoinPool pool;
+	private final EquityCalculator calculator;
+	private final Semaphore pending;
+	private final long budget;
+	private final EquityCache cache;
+	private final int threads;
+
+	/*
+	 * requests submitted and not started yet
+	 */
+	private final AtomicInteger queued = new AtomicInteger();
+
+	/*
+	 * @param threads size of the pool
+	 * @param maxPending requests that may be waiting or running at once
+	 * @param budget time from a request to its answer
+	 */
+	public EquityService(int threads, int maxPending, long budget, TimeUnit unit) {
+		this(threads, maxPending, budget, unit, new EquityCache(0));
+	}
+
+	public EquityService(int threads, int maxPending, long budget, TimeUnit unit, EquityCache cache) {
+		this.cache = cache;
+		this.threads = threads;
+		pool = new ForkJoinPool(threads);
+		// no error small enough to stop before the deadline
+		calculator = new EquityCalculator(pool, 0, budget, unit);
+		pending = new Semaphore(maxPending);
+		this.budget = unit.toNanos(budget);
+	}
+
+	/**
+	 * Estimates the equity of the hole cards against a number of random hands,
+	 * and hands it to the callback on one of the pool's threads, or on the
+	 * caller's thread if it was cached.
+	 *
+	 * @return false if the service is too busy to take the request
+	 */
+	public boolean submit(long holeCards, int randomHands, long board, Consumer<Equity> callback) {
+		final long deadline = System.nanoTime() + budget;
+		// fail early, on the caller's thread
+		EquityCalculator.remainingDeck(new long[] { holeCards }, randomHands, board, CardSet.EMPTY);
+		final Equity cached = cache.get(holeCards, randomHands, board);
+		if (cached != null) {
+			callback.accept(cached);
+			return true;
+		}
+		if (!pending.tryAcquire()) {
+			return false;
+		}
+		try {
+			queued.incrementAndGet();
+			pool.execute(() -> {
+				try {
+					final Equity equity = calculator.calculateOnThisThread(new long[] { holeCards }, randomHands,
+							board, CardSet.EMPTY, shareOf(deadline));
+					if (equity.getError() <= MAX_CACHED_ERROR) {
+						cache.put(holeCards, randomHands, board, equity);
+					}
+					callback.accept(equity);
+				} finally {
+					pending.release();
+				}
+			});
+		} catch (RuntimeException e) {
+			queued.decrementAndGet();
+			pending.release();
+			throw e;
+		}
+		return true;
+	}
+
+	private long shareOf(long deadline) {
+		return share(System.nanoTime(), deadline, queued.decrementAndGet(), threads);
+	}
+
+	/*
+	 * @param behind requests queued after the one starting now
+	 * @return when a request starting now should stop so that those queued
+	 * behind it get an equal part of the time left
+	 */
+	static long share(long now, long deadline, int behind, int threads) {
+		return now + Math.max(0, deadline - now) / (1 + behind / threads);
+	}
+
+	public EquityCache getCache() {
+		return cache;
+	}
+
+	public void shutdown() {
+		pool.shutdown();
+	}
+}
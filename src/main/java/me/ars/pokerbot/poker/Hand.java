@@ -1,8 +1,6 @@
 package me.ars.pokerbot.poker;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -57,513 +55,154 @@ public class Hand implements Comparable<Hand> {
 	private final Player player;
 
 	/*
-	 * the type of hand
+	 * the rank of the hand as given by HandEvaluator, which orders hands by
+	 * type and then by the values that matter for that type
 	 */
-	private final HandType type;
+	private final int rank;
 
 	/*
-	 * cards pertinent to the hand
+	 * CardSet of the cards the hand was made from
 	 */
-	private final Card[] bestHand;
+	private final long cards;
 
-	private Hand(final Player player, final HandType type,
-			final Card... bestHand) {
-		if (bestHand.length != 5) {
-			throw new IllegalArgumentException("Invalid hand size: " + bestHand.length);
-		}
+	/*
+	 * cards pertinent to the hand, picked out of cards when first needed
+	 */
+	private Card[] bestHand;
 
+	Hand(final Player player, final int rank, final long cards) {
 		this.player = player;
-		this.type = type;
-		this.bestHand = bestHand;
+		this.rank = rank;
+		this.cards = cards;
 	}
 
 	Hand(final Player player, final HandType type,
 			final List<Card> bestHandList) {
-		this(player, type, bestHandList.toArray(new Card[bestHandList.size()]));
+		if (bestHandList.size() != 5) {
+			throw new IllegalArgumentException("Invalid hand size: " + bestHandList.size());
+		}
+
+		this.player = player;
+		this.cards = CardSet.of(bestHandList);
+		this.rank = HandEvaluator.evaluate(cards);
+		this.bestHand = bestHandList.toArray(new Card[5]);
+
+		if (getHandType() != type) {
+			throw new IllegalArgumentException("Cards " + bestHandList + " do not make a " + type);
+		}
 	}
 
 	public Player getPlayer() {
 		return player;
 	}
 
+	/*
+	 * @return the rank of the hand as given by HandEvaluator, higher is better
+	 */
+	public int getRank() {
+		return rank;
+	}
+
 	public HandType getHandType() {
-		return type;
+		return HandEvaluator.getHandType(rank);
 	}
 
 	public Card[] getCards() {
+		final Card[] bestHand = getBestHand();
 		return Arrays.copyOf(bestHand, bestHand.length);
 	}
 
-	private static boolean isStraightAt(List<Card> uniqueCards, int index) {
-		if (uniqueCards.size() - index < 5)
-			return false;
-
-		int upper = index + 4;
-		for (int i = index; i < upper; i++) {
-			int v1 = uniqueCards.get(i).getValue();
-			int v2 = uniqueCards.get(i + 1).getValue();
-			if (v1 + 1 != v2) {
-				return false;
-			}
-		}
-
-		return true;
-	}
-
 	/*
-	 * @param cards the 7 cards to be analyzed
+	 * @param cards the 5 to 7 cards to be analyzed
 	 */
 	public static Hand getBestHand(Player player, Card... cards) {
-		final Hand hand1 = bestHand(player, cards);
-		if (containsValue(cards, 14)) {
-			try {
-				final Card[] acesAsOnes = countAcesAsOnes(cards);
-				final Hand hand2 = bestHand(player, acesAsOnes);
-				final Hand.HandType onesHandType = hand2.getHandType();
-				if ((onesHandType == HandType.STRAIGHT || onesHandType == HandType.STRAIGHT_FLUSH) &&
-						hand2.compareTo(hand1) > 0) {
-					return hand2;
-				} else {
-					return hand1;
-				}
-			} catch (IllegalArgumentException ignored) {
-			}
-		}
-		return hand1;
+		return getBestHand(player, CardSet.of(cards));
 	}
 
-	private static Hand bestHand(Player player, Card... cards) {
-		Arrays.sort(cards);
-
-		int[] suitFreqs = new int[4];
-
-		for (Card card : cards) {
-			suitFreqs[card.getSuit().ordinal()]++;
-		}
-
-		Card.Suit flushSuit = null;
-		List<Card> flushCards = new ArrayList<>(7);
-		for (int i = 0; i < 4; i++) {
-			if (suitFreqs[i] >= 5) {
-				flushSuit = Card.Suit.values()[i];
-			}
-		}
-
-		if (flushSuit != null) {
-			for (Card card : cards) {
-				if (card.getSuit() == flushSuit) {
-					flushCards.add(card);
-				}
-			}
-		}
-
-		// straight flush check
-		for (int i = flushCards.size() - 1; i >= 0; i--) {
-			if (isStraightAt(flushCards, i)) {
-				Card[] bestHand = new Card[5];
-
-				for (int j = 0; j < 5; j++) {
-					bestHand[j] = flushCards.get(i + j);
-				}
-
-				return new Hand(player, HandType.STRAIGHT_FLUSH, bestHand);
-			}
-		}
-
-		int[] freqs = new int[13];
-
-		if (containsValue(cards, 1)) {
-			for (Card card : cards) {
-				freqs[card.getValue() - 1]++;
-			}
-		} else {
-			for (Card card : cards) {
-				freqs[card.getValue() - 2]++;
-			}
-		}
-
-		int maxIndex = 0;
-		for (int i = 0; i < freqs.length; i++) {
-			if (freqs[i] > freqs[maxIndex]) {
-				maxIndex = i;
-			}
-		}
-		int maxValue = maxIndex + 2;
-
-		// four of a kind check
-		if (freqs[maxIndex] == 4) {
-			List<Card> bestHandList = new ArrayList<>(5);
-
-			for (Card card : cards) {
-				if (card.getValue() == maxValue) {
-					bestHandList.add(card);
-				}
-			}
-
-			Card kicker = null;
-
-			for (Card card : cards) {
-				if (card.getValue() == maxValue)
-					continue;
-
-				if (kicker == null || card.getValue() > kicker.getValue())
-					kicker = card;
-			}
-
-			bestHandList.add(kicker);
-
-			return new Hand(player, HandType.FOUR_OF_KIND, bestHandList);
-		}
-
-		int threes = -1;
-		int secondthrees = -1;
-		int twos = -1;
-		int secondTwos = -1;
-		int thirdTwos = -1;
-
-		for (int i = freqs.length - 1; i >= 0; i--) {
-			final int freq = freqs[i];
-			final int value = i + 2;
-			if (freq == 3) {
-				if (threes < 0) {
-					threes = value;
-				} else {
-					secondthrees = value;
-				}
-			} else if (freq == 2) {
-				if (twos < 0) {
-					twos = value;
-				} else if (secondTwos < 0){
-					secondTwos = value;
-				} else {
-					thirdTwos = value;
-				}
-			}
-		}
-
-		if(thirdTwos != -1) {
-			// get the best two pairs
-			final int[] arrDesc = Arrays.stream(new int[]{twos, secondTwos, thirdTwos}).boxed()
-					.sorted(Collections.reverseOrder())
-					.mapToInt(Integer::intValue)
-					.toArray();
-
-			twos = arrDesc[0];
-			secondTwos = arrDesc[1];
+	/*
+	 * @param cards CardSet of the 5 to 7 cards to be analyzed
+	 */
+	public static Hand getBestHand(Player player, long cards) {
+		final int size = CardSet.size(cards);
+		if (size < 5 || size > 7) {
+			throw new IllegalArgumentException("Invalid hand size: " + size);
 		}
+		return new Hand(player, HandEvaluator.evaluate(cards), cards);
+	}
 
-		// full house check
-		if (threes >= 0 && (twos >= 0 || secondthrees >= 0)) {
-			List<Card> l1 = new ArrayList<>(5);
-			List<Card> l2 = new ArrayList<>(2);
-			final boolean firstBigger = (threes > secondthrees);
-
-			for (Card card : cards) {
-				if (card.getValue() == threes) {
-					if (l1.size() < 2 || firstBigger) {
-						l1.add(card);
-					}
-				} else if (card.getValue() == twos) {
-					l2.add(card);
-				} else if(card.getValue() == secondthrees) {
-					if (l2.size() < 2 || !firstBigger) {
-						l2.add(card);
-					}
+	/*
+	 * which packed value of the rank each of the five best cards has, by hand
+	 * type
+	 */
+	private static final int[][] VALUE_INDICES = {
+			{ 0, 1, 2, 3, 4 }, // high card
+			{ 0, 0, 1, 2, 3 }, // one pair
+			{ 0, 0, 1, 1, 2 }, // two pair
+			{ 0, 0, 0, 1, 2 }, // three of a kind
+			null, // straight
+			{ 0, 1, 2, 3, 4 }, // flush
+			{ 0, 0, 0, 1, 1 }, // full house
+			{ 0, 0, 0, 0, 1 }, // four of a kind
+			null, // straight flush
+	};
+
+	private Card[] selectBestHand() {
+		final HandType type = getHandType();
+		final boolean straight = type == HandType.STRAIGHT || type == HandType.STRAIGHT_FLUSH;
+
+		// for flushes only look at the suit with five cards or more
+		long candidates = cards;
+		if (type == HandType.FLUSH || type == HandType.STRAIGHT_FLUSH) {
+			for (int shift = 0; shift < 64; shift += 16) {
+				if (Long.bitCount(cards & 0x1fffL << shift) >= 5) {
+					candidates &= 0x1fffL << shift;
 				}
 			}
-
-			l1.addAll(l2);
-
-			return new Hand(player, HandType.FULL_HOUSE, l1.toArray(new Card[l1
-					.size()]));
-		}
-
-		// flush check
-		if (flushSuit != null) {
-			List<Card> bestHandList = new ArrayList<>(5);
-			for (int i = cards.length - 1; i >= 0; i--) {
-				if (cards[i].getSuit() == flushSuit)
-					bestHandList.add(cards[i]);
-
-				if (bestHandList.size() == 5)
-					break;
-			}
-
-			return new Hand(player, HandType.FLUSH, bestHandList);
-		}
-
-		int valset = 0;
-		List<Card> unique = new ArrayList<>(cards.length);
-
-		for (Card card : cards) {
-			int val = card.getValue();
-			if ((valset & (1 << val)) == 0) {
-				unique.add(card);
-				valset &= (1 << val);
-			}
 		}
 
-		int straightStart = -1;
-
-		for (int i = unique.size() - 1; i >= 0; i--) {
-			if (isStraightAt(unique, i)) {
-				straightStart = i;
-				break;
-			}
-		}
-
-		// straight check
-		if (straightStart >= 0) {
-			Card[] bestHand = new Card[5];
-
-			for (int i = 0; i < 5; i++) {
-				bestHand[i] = unique.get(straightStart + i);
-			}
-
-			return new Hand(player, HandType.STRAIGHT, bestHand);
-		}
-
-		// three of a kind check
-		if (threes >= 0) {
-			List<Card> bestHandList = new ArrayList<>(5);
-
-			for (Card card : cards) {
-				if (card.getValue() == threes)
-					bestHandList.add(card);
-			}
-
-			Card kicker = null;
-
-			for (Card card : cards) {
-				if (card.getValue() == threes)
-					continue;
-
-				if (kicker == null || card.getValue() > kicker.getValue())
-					kicker = card;
-			}
-
-			bestHandList.add(kicker);
-
-			Card kicker2 = null;
-
-			for (Card card : cards) {
-				if (card.getValue() == threes || card.equals(kicker))
-					continue;
-
-				if (kicker2 == null || card.getValue() > kicker2.getValue())
-					kicker2 = card;
-			}
-
-			bestHandList.add(kicker2);
-
-			return new Hand(player, HandType.THREE_OF_KIND, bestHandList);
-		}
-
-		if (twos >= 0) {
-			// two pair check
-			if (secondTwos >= 0) {
-				List<Card> l1 = new ArrayList<>(5);
-				List<Card> l2 = new ArrayList<>(2);
-
-				for (Card card : cards) {
-					if (card.getValue() == twos) {
-						l1.add(card);
-					} else if (card.getValue() == secondTwos) {
-						l2.add(card);
-					}
-				}
-
-				l1.addAll(l2);
-
-				Card kicker = null;
-
-				for (Card card : cards) {
-					if (card.getValue() == twos
-							|| card.getValue() == secondTwos)
-						continue;
-
-					if (kicker == null || card.getValue() > kicker.getValue())
-						kicker = card;
-				}
-
-				l1.add(kicker);
-
-				return new Hand(player, HandType.TWO_PAIR, l1);
-			}
-			// one pair check
-			else {
-				List<Card> bestHandList = new ArrayList<>(5);
-
-				for (Card card : cards) {
-					if (card.getValue() == twos) {
-						bestHandList.add(card);
-					}
-				}
-
-				for (int i = cards.length - 1; i >= 0; i--) {
-					if (!bestHandList.contains(cards[i]))
-						bestHandList.add(cards[i]);
-
-					if (bestHandList.size() == 5)
-						break;
-				}
-
-				return new Hand(player, HandType.ONE_PAIR, bestHandList);
+		final Card[] best = new Card[5];
+		for (int i = 0; i < best.length; i++) {
+			final int value;
+			if (straight) {
+				// the ace counts as the value below the lowest card of the deck in the lowest straight
+				final int top = HandEvaluator.getValue(rank, 0);
+				value = (top - i == 1 || (candidates & CardSet.ofValue(top - i)) == 0) ? 14 : top - i;
+			} else {
+				value = HandEvaluator.getValue(rank, VALUE_INDICES[type.ordinal()][i]);
 			}
+			final long card = Long.lowestOneBit(candidates & CardSet.ofValue(value));
+			candidates &= ~card;
+			best[i] = CardSet.toCard(Long.numberOfTrailingZeros(card));
 		}
-
-		// high card
-		Card[] bestHand = new Card[5];
-		for (int i = 0; i < 5; i++) {
-			bestHand[i] = cards[cards.length - i - 1];
-		}
-
-		return new Hand(player, HandType.HIGH_CARD, bestHand);
+		return best;
 	}
 
 	@Override
 	public int compareTo(Hand other) {
-		int master = type.compareTo(other.type);
-
-		if (master != 0)
-			return master;
-
-		switch (type) {
-		case STRAIGHT_FLUSH: {
-			return bestHand[0].compareTo(other.bestHand[0]);
-		}
-		case FOUR_OF_KIND: {
-			master = bestHand[0].compareTo(other.bestHand[0]);
-
-			if (master == 0) {
-				master = bestHand[4].compareTo(other.bestHand[4]);
-			}
-
-			return master;
-		}
-		case FULL_HOUSE: {
-			master = bestHand[0].compareTo(other.bestHand[0]);
-
-			if (master == 0) {
-				master = bestHand[3].compareTo(other.bestHand[3]);
-			}
-
-			return master;
-		}
-		case FLUSH: {
-			for (int i = 0; i < bestHand.length; i++) {
-				master = bestHand[i].compareTo(other.bestHand[i]);
-
-				if (master != 0)
-					break;
-			}
-
-			return master;
-		}
-		case STRAIGHT: {
-			return bestHand[0].compareTo(other.bestHand[0]);
-		}
-		case THREE_OF_KIND: {
-			master = bestHand[0].compareTo(other.bestHand[0]);
-
-			if (master == 0) {
-				master = bestHand[3].compareTo(other.bestHand[3]);
-
-				if (master == 0) {
-					master = bestHand[4].compareTo(other.bestHand[4]);
-				}
-			}
-
-			return master;
-		}
-		case TWO_PAIR: {
-			master = bestHand[0].compareTo(other.bestHand[0]);
-
-			if (master == 0) {
-				master = bestHand[2].compareTo(other.bestHand[2]);
-
-				if (master == 0) {
-					master = bestHand[4].compareTo(other.bestHand[4]);
-				}
-			}
-
-			return master;
-		}
-		case ONE_PAIR: {
-			master = bestHand[0].compareTo(other.bestHand[0]);
-
-			if (master == 0) {
-				for (int i = 2; i < bestHand.length; i++) {
-					master = bestHand[i].compareTo(other.bestHand[i]);
-
-					if (master != 0)
-						break;
-				}
-			}
-
-			return master;
-		}
-		case HIGH_CARD: {
-			for (int i = 0; i < bestHand.length; i++) {
-				master = bestHand[i].compareTo(other.bestHand[i]);
-
-				if (master != 0)
-					return master;
-			}
-			return 0;
-		}
-		default:
-			System.err.println("Couldn't compare types: " + type + " to " + other.type);
-			throw new IllegalStateException();
-		}
+		return Integer.compare(rank, other.rank);
 	}
 
 	@Override
 	public boolean equals(Object o) {
-		return (o instanceof Hand) && compareTo((Hand) o) == 0;
+		return (o instanceof Hand) && rank == ((Hand) o).rank;
 	}
 
 	@Override
 	public int hashCode() {
-		int[] hash = new int[bestHand.length + 1];
-
-		for (int i = 0; i < bestHand.length; i++)
-			hash[i] = bestHand[i].hashCode();
-
-		hash[bestHand.length] = type.hashCode();
-
-		return Arrays.hashCode(hash);
-	}
-
-	private static Card[] countAcesAsOnes(Card[] cards) {
-		Card[] newCards = new Card[cards.length];
-		for(int i = 0; i < cards.length; i++) {
-			if (cards[i].getValue() == 14) {
-				newCards[i] = new Card(1, cards[i].getSuit());
-			} else {
-				newCards[i] = cards[i];
-			}
-		}
-		return newCards;
-	}
-
-	private static boolean containsValue(Card[] cards, int value) {
-		for( Card card: cards) {
-			if (card.getValue() == value) {
-				return true;
-			}
-		}
-		return false;
+		return rank;
 	}
 
 	public Card[] getBestHand() {
+		if (bestHand == null) {
+			bestHand = selectBestHand();
+		}
 		return bestHand;
 	}
 
 	@Override
 	public String toString() {
-		return Arrays.stream(bestHand).map(Card::toString)
+		return Arrays.stream(getBestHand()).map(Card::toString)
 				.collect(Collectors.joining(", "))
-				+ " (" + type.toString() + ")";
+				+ " (" + getHandType().toString() + ")";
 	}
 }
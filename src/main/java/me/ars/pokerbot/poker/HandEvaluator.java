@@ -0,0 +1,242 @@
+package me.ars.pokerbot.poker;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import me.ars.pokerbot.poker.Hand.HandType;
+
+/**
+ * Evaluates up to seven cards into a single int rank using precomputed lookup
+ * tables. A higher rank is a better hand, and equal ranks are tied hands.
+ * <p>
+ * The rank packs the {@link HandType} ordinal above five 4 bit card values
+ * (2..14), most significant first: the value of the four of a kind followed by
+ * its kicker, the top card of a straight, every card of a flush and so on.
+ * Values that do not matter for the hand type are 0.
+ * <p>
+ * The tables are shared by every table in the bot. Until they are ready,
+ * hands are ranked directly, which gives the same ranks more slowly.
+ * <p>
+ * Other {@link Ranking}s, such as short deck, are ranked with tables of their
+ * own, which are generated on the heap the first time they are needed.
+ */
+public final class HandEvaluator {
+	/*
+	 * null until the tables have been generated or mapped
+	 */
+	private static volatile RankTables tables;
+
+	/*
+	 * set once loading or generating the tables has been started
+	 */
+	private static final AtomicBoolean requested = new AtomicBoolean();
+
+	/*
+	 * tables of the short deck ranking, null until generated
+	 */
+	private static volatile RankTables shortDeckTables;
+	private static final AtomicBoolean shortDeckRequested = new AtomicBoolean();
+
+	private static final HandType[] TYPES = HandType.values();
+
+	private HandEvaluator() {
+	}
+
+	/**
+	 * Maps the tables from the file. If the file is missing or was written for
+	 * other tables, they are generated in the background instead and written
+	 * to the file for the next start. Only the first request has any effect.
+	 *
+	 * @param file the file of the tables, or null to generate them on the heap
+	 */
+	public static void loadTables(Path file) {
+		if (!requested.compareAndSet(false, true)) {
+			return;
+		}
+		if (file != null) {
+			try {
+				final RankTables mapped = RankTables.map(file);
+				if (mapped != null) {
+					tables = mapped;
+					return;
+				}
+			} catch (IOException e) {
+				System.err.println("Could not map rank tables from " + file + ": " + e.getMessage());
+			}
+		}
+		generateTables(file);
+	}
+
+	public static boolean hasTables() {
+		return tables != null;
+	}
+
+	public static boolean hasTables(Ranking ranking) {
+		return ranking == Ranking.STANDARD ? tables != null : shortDeckTables != null;
+	}
+
+	/*
+	 * @param file where to write the tables, or null to keep them on the heap
+	 */
+	private static void generateTables(Path file) {
+		final Thread thread = new Thread(() -> {
+			final RankTables generated = RankTables.generate();
+			tables = generated;
+			if (file == null) {
+				return;
+			}
+			try {
+				generated.write(file);
+				final RankTables mapped = RankTables.map(file);
+				if (mapped != null) {
+					tables = mapped;
+				}
+			} catch (IOException e) {
+				System.err.println("Could not write rank tables to " + file + ": " + e.getMessage());
+			}
+		}, "rank-tables");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	private static int evaluateWithoutTables(long cards) {
+		if (!requested.get() && requested.compareAndSet(false, true)) {
+			generateTables(null);
+		}
+		return RankTables.rank(cards);
+	}
+
+	/*
+	 * @return the tables of the ranking, or null if they are not ready yet
+	 */
+	private static RankTables tables(Ranking ranking) {
+		if (ranking == Ranking.STANDARD) {
+			return tables;
+		}
+		final RankTables shortDeck = shortDeckTables;
+		if (shortDeck == null && !shortDeckRequested.get() && shortDeckRequested.compareAndSet(false, true)) {
+			final Thread thread = new Thread(() -> shortDeckTables = RankTables.generate(Ranking.SHORT_DECK),
+					"short-deck-rank-tables");
+			thread.setDaemon(true);
+			thread.start();
+		}
+		return shortDeck;
+	}
+
+	/*
+	 * Starts generating the tables of the ranking in the background, if they
+	 * are not there yet, so that the first hands need not be ranked directly.
+	 */
+	public static void prepare(Ranking ranking) {
+		if (ranking != Ranking.STANDARD) {
+			tables(ranking);
+		}
+	}
+
+	public static int evaluate(Card... cards) {
+		return evaluate(CardSet.of(cards));
+	}
+
+	/*
+	 * @param cards a CardSet of up to seven cards
+	 */
+	public static int evaluate(long cards) {
+		final RankTables tables = HandEvaluator.tables;
+		if (tables == null) {
+			return evaluateWithoutTables(cards);
+		}
+		return evaluate(tables, cards);
+	}
+
+	/*
+	 * @param cards a CardSet of up to seven cards of the ranking's deck
+	 */
+	public static int evaluate(Ranking ranking, long cards) {
+		if (ranking == Ranking.STANDARD) {
+			return evaluate(cards);
+		}
+		final RankTables tables = tables(ranking);
+		if (tables == null) {
+			return RankTables.rank(ranking, cards);
+		}
+		return evaluate(tables, cards);
+	}
+
+	static int evaluate(RankTables tables, long cards) {
+		for (int shift = 0; shift < 64; shift += 16) {
+			final int suit = (int) (cards >>> shift) & 0x1fff;
+			if (Integer.bitCount(suit) >= 5) {
+				return tables.flush.get(suit);
+			}
+		}
+		int key = 0;
+		for (long rest = cards; rest != 0; rest &= rest - 1) {
+			key += RankTables.RANK_KEYS[Long.numberOfTrailingZeros(rest) & 0xf];
+		}
+		return nonFlushRank(tables, key);
+	}
+
+	/*
+	 * @param key sum of the rank keys of all cards
+	 * @param suitCounts number of cards of each suit, one nibble per suit
+	 * @param cards a CardSet of all cards
+	 */
+	static int evaluate(int key, int suitCounts, long cards) {
+		final RankTables tables = HandEvaluator.tables;
+		if (tables == null) {
+			return evaluateWithoutTables(cards);
+		}
+		return evaluate(tables, key, suitCounts, cards);
+	}
+
+	static int evaluate(Ranking ranking, int key, int suitCounts, long cards) {
+		if (ranking == Ranking.STANDARD) {
+			return evaluate(key, suitCounts, cards);
+		}
+		final RankTables tables = tables(ranking);
+		if (tables == null) {
+			return RankTables.rank(ranking, cards);
+		}
+		return evaluate(tables, key, suitCounts, cards);
+	}
+
+	private static int evaluate(RankTables tables, int key, int suitCounts, long cards) {
+		// a nibble reaches 8 when 3 is added to a count of 5 or more
+		final int flush = (suitCounts + 0x3333) & 0x8888;
+		if (flush != 0) {
+			final int shift = (Integer.numberOfTrailingZeros(flush) >>> 2) << 4;
+			return tables.flush.get((int) (cards >>> shift) & 0x1fff);
+		}
+		return nonFlushRank(tables, key);
+	}
+
+	/*
+	 * @param key sum of the rank keys of all cards
+	 */
+	private static int nonFlushRank(RankTables tables, int key) {
+		final IntBuffer nonFlush = tables.nonFlush;
+		int slot = RankTables.slot(key);
+		int found;
+		while ((found = nonFlush.get(slot)) != key) {
+			if (found == 0) {
+				throw new IllegalArgumentException("More than four cards of the same value");
+			}
+			slot = (slot + 2) & (nonFlush.capacity() - 1);
+		}
+		return nonFlush.get(slot + 1);
+	}
+
+	public static HandType getHandType(int rank) {
+		return TYPES[rank >>> 20 & 0xf];
+	}
+
+	/*
+	 * @param index which of the five packed values to get, 0 being the most
+	 * significant
+	 */
+	static int getValue(int rank, int index) {
+		return rank >>> (16 - 4 * index) & 0xf;
+	}
+}
@@ -0,0 +1,374 @@
+package me.ars.pokerbot.poker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps hands to dense indices that are the same for every hand that only
+ * differs by a permutation of suits, so that tables keyed by hands need one
+ * entry per strategically distinct hand instead of one per hand.
+ * <p>
+ * A hand is dealt in rounds, such as the hole cards and then the board, and
+ * each round is given as a {@link CardSet}. Cards within a round are unordered.
+ * Indices run from 0 to {@link #size()} - 1, and {@link #unindex} gives back
+ * one canonical hand for every index.
+ * <p>
+ * Every suit of a hand is described by how many of its cards were dealt in
+ * each round (its pattern) and which values they have (its suit index). The
+ * multiset of patterns picks a configuration, which owns a contiguous block
+ * of indices, and within it the suit indices of suits sharing a pattern are
+ * combined as a multiset, since those suits can be swapped freely.
+ */
+public final class HandIndexer {
+	/*
+	 * the 169 starting hands
+	 */
+	public static final HandIndexer PREFLOP = new HandIndexer(2);
+
+	/*
+	 * hole cards and board, the order in which board cards came does not matter
+	 */
+	public static final HandIndexer FLOP = new HandIndexer(2, 3);
+	public static final HandIndexer TURN = new HandIndexer(2, 4);
+	public static final HandIndexer RIVER = new HandIndexer(2, 5);
+
+	private static final int SUITS = 4;
+	private static final int VALUES = 13;
+
+	/*
+	 * colex index of every set of values among 13
+	 */
+	private static final int[] VALUE_SET_INDEX = new int[1 << VALUES];
+
+	static {
+		for (int set = 0; set < VALUE_SET_INDEX.length; set++) {
+			int index = 0;
+			int j = 1;
+			for (int rest = set; rest != 0; rest &= rest - 1) {
+				index += (int) choose(Integer.numberOfTrailingZeros(rest), j++);
+			}
+			VALUE_SET_INDEX[set] = index;
+		}
+	}
+
+	private final int[] cardsPerRound;
+
+	/*
+	 * number of distinct patterns, a pattern being the number of cards of a
+	 * suit in each round as a mixed radix number, the first round lowest
+	 */
+	private final int patterns;
+
+	/*
+	 * number of suit indices of every pattern, 0 for patterns that cannot occur
+	 */
+	private final long[] patternSizes;
+
+	/*
+	 * configurations as the patterns of all four suits in descending order,
+	 * packed in base patterns, sorted ascending
+	 */
+	private final long[] configurations;
+
+	/*
+	 * first index of every configuration, followed by the total size
+	 */
+	private final long[] offsets;
+
+	public HandIndexer(int... cardsPerRound) {
+		if (cardsPerRound.length == 0 || Arrays.stream(cardsPerRound).sum() > 2 * VALUES) {
+			throw new IllegalArgumentException("Invalid rounds: " + Arrays.toString(cardsPerRound));
+		}
+		this.cardsPerRound = cardsPerRound.clone();
+
+		int patterns = 1;
+		for (int cards : cardsPerRound) {
+			patterns *= cards + 1;
+		}
+		this.patterns = patterns;
+
+		patternSizes = new long[patterns];
+		for (int pattern = 0; pattern < patterns; pattern++) {
+			long size = 1;
+			int used = 0;
+			for (int round = 0, rest = pattern; round < cardsPerRound.length; round++) {
+				final int cards = rest % (cardsPerRound[round] + 1);
+				rest /= cardsPerRound[round] + 1;
+				size *= choose(VALUES - used, cards);
+				used += cards;
+			}
+			patternSizes[pattern] = size;
+		}
+
+		final List<Long> found = new ArrayList<>();
+		findConfigurations(new int[SUITS], 0, patterns - 1, found);
+		configurations = found.stream().mapToLong(Long::longValue).sorted().toArray();
+		offsets = new long[configurations.length + 1];
+		final int[] suitPatterns = new int[SUITS];
+		for (int i = 0; i < configurations.length; i++) {
+			unpack(configurations[i], suitPatterns);
+			long size = 1;
+			for (int suit = 0; suit < SUITS;) {
+				final int group = groupSize(suitPatterns, suit);
+				size *= multichoose(patternSizes[suitPatterns[suit]], group);
+				suit += group;
+			}
+			offsets[i + 1] = offsets[i] + size;
+		}
+	}
+
+	/*
+	 * @return the number of distinct indices
+	 */
+	public long size() {
+		return offsets[configurations.length];
+	}
+
+	public int rounds() {
+		return cardsPerRound.length;
+	}
+
+	/*
+	 * @param rounds a CardSet of the cards dealt in every round
+	 */
+	public long index(long... rounds) {
+		if (rounds.length != cardsPerRound.length) {
+			throw new IllegalArgumentException("Expected " + cardsPerRound.length + " rounds, got " + rounds.length);
+		}
+		long all = CardSet.EMPTY;
+		for (int round = 0; round < rounds.length; round++) {
+			if (CardSet.size(rounds[round]) != cardsPerRound[round] || CardSet.intersects(all, rounds[round])) {
+				throw new IllegalArgumentException("Invalid cards for round " + round + ": "
+						+ CardSet.toString(rounds[round]));
+			}
+			all |= rounds[round];
+		}
+
+		final int[] suitPatterns = new int[SUITS];
+		final long[] suitIndices = new long[SUITS];
+		for (int suit = 0; suit < SUITS; suit++) {
+			int used = 0;
+			int pattern = 0;
+			int patternMultiplier = 1;
+			long index = 0;
+			long multiplier = 1;
+			for (int round = 0; round < rounds.length; round++) {
+				final int values = (int) (rounds[round] >>> (suit << 4)) & 0x1fff;
+				final int cards = Integer.bitCount(values);
+				index += multiplier * VALUE_SET_INDEX[compress(values, used)];
+				multiplier *= choose(VALUES - Integer.bitCount(used), cards);
+				used |= values;
+				pattern += cards * patternMultiplier;
+				patternMultiplier *= cardsPerRound[round] + 1;
+			}
+			suitPatterns[suit] = pattern;
+			suitIndices[suit] = index;
+		}
+
+		// patterns descending, and suit indices ascending among equal patterns
+		for (int i = 1; i < SUITS; i++) {
+			for (int j = i; j > 0 && (suitPatterns[j] > suitPatterns[j - 1]
+					|| suitPatterns[j] == suitPatterns[j - 1] && suitIndices[j] < suitIndices[j - 1]); j--) {
+				final int pattern = suitPatterns[j];
+				suitPatterns[j] = suitPatterns[j - 1];
+				suitPatterns[j - 1] = pattern;
+				final long index = suitIndices[j];
+				suitIndices[j] = suitIndices[j - 1];
+				suitIndices[j - 1] = index;
+			}
+		}
+
+		final int configuration = Arrays.binarySearch(configurations, pack(suitPatterns));
+		long index = 0;
+		long multiplier = 1;
+		for (int suit = 0; suit < SUITS;) {
+			final int group = groupSize(suitPatterns, suit);
+			long part = 0;
+			for (int j = 0; j < group; j++) {
+				part += choose(suitIndices[suit + j] + j, j + 1);
+			}
+			index += multiplier * part;
+			multiplier *= multichoose(patternSizes[suitPatterns[suit]], group);
+			suit += group;
+		}
+		return offsets[configuration] + index;
+	}
+
+	/*
+	 * Fills rounds with the canonical hand of the index, which gives the first
+	 * suits the most cards.
+	 */
+	public void unindex(long index, long[] rounds) {
+		if (index < 0 || index >= size() || rounds.length != cardsPerRound.length) {
+			throw new IllegalArgumentException("Invalid index " + index + " for " + rounds.length + " rounds");
+		}
+		int configuration = Arrays.binarySearch(offsets, index);
+		if (configuration < 0) {
+			configuration = -configuration - 2;
+		}
+		final int[] suitPatterns = new int[SUITS];
+		unpack(configurations[configuration], suitPatterns);
+
+		final long[] suitIndices = new long[SUITS];
+		long rest = index - offsets[configuration];
+		for (int suit = 0; suit < SUITS;) {
+			final int group = groupSize(suitPatterns, suit);
+			final long size = multichoose(patternSizes[suitPatterns[suit]], group);
+			long part = rest % size;
+			rest /= size;
+			for (int j = group - 1; j >= 0; j--) {
+				final long combination = largestChoose(part, j + 1);
+				part -= choose(combination, j + 1);
+				suitIndices[suit + j] = combination - j;
+			}
+			suit += group;
+		}
+
+		Arrays.fill(rounds, CardSet.EMPTY);
+		for (int suit = 0; suit < SUITS; suit++) {
+			int used = 0;
+			int pattern = suitPatterns[suit];
+			long suitIndex = suitIndices[suit];
+			for (int round = 0; round < rounds.length; round++) {
+				final int cards = pattern % (cardsPerRound[round] + 1);
+				pattern /= cardsPerRound[round] + 1;
+				final long size = choose(VALUES - Integer.bitCount(used), cards);
+				final int values = expand(valueSet(suitIndex % size, cards), used);
+				suitIndex /= size;
+				used |= values;
+				rounds[round] |= (long) values << (suit << 4);
+			}
+		}
+	}
+
+	/*
+	 * Adds every multiset of suit patterns, in descending order, that deals the
+	 * right number of cards in every round.
+	 */
+	private void findConfigurations(int[] suitPatterns, int suit, int maxPattern, List<Long> found) {
+		if (suit == SUITS) {
+			for (int round = 0, radix = 1; round < cardsPerRound.length; round++) {
+				int cards = 0;
+				for (int pattern : suitPatterns) {
+					cards += pattern / radix % (cardsPerRound[round] + 1);
+				}
+				if (cards != cardsPerRound[round]) {
+					return;
+				}
+				radix *= cardsPerRound[round] + 1;
+			}
+			found.add(pack(suitPatterns));
+			return;
+		}
+		for (int pattern = maxPattern; pattern >= 0; pattern--) {
+			if (patternSizes[pattern] != 0) {
+				suitPatterns[suit] = pattern;
+				findConfigurations(suitPatterns, suit + 1, pattern, found);
+			}
+		}
+	}
+
+	private long pack(int[] suitPatterns) {
+		long packed = 0;
+		for (int pattern : suitPatterns) {
+			packed = packed * patterns + pattern;
+		}
+		return packed;
+	}
+
+	private void unpack(long packed, int[] suitPatterns) {
+		for (int suit = SUITS - 1; suit >= 0; suit--) {
+			suitPatterns[suit] = (int) (packed % patterns);
+			packed /= patterns;
+		}
+	}
+
+	/*
+	 * @return the number of suits from the given one on that share its pattern
+	 */
+	private static int groupSize(int[] suitPatterns, int suit) {
+		int group = 1;
+		while (suit + group < SUITS && suitPatterns[suit + group] == suitPatterns[suit]) {
+			group++;
+		}
+		return group;
+	}
+
+	/*
+	 * Removes the used values, moving the values above each of them down one step.
+	 */
+	private static int compress(int values, int used) {
+		int compressed = 0;
+		for (int rest = values; rest != 0; rest &= rest - 1) {
+			final int bit = Integer.numberOfTrailingZeros(rest);
+			compressed |= 1 << (bit - Integer.bitCount(used & ((1 << bit) - 1)));
+		}
+		return compressed;
+	}
+
+	/*
+	 * The inverse of compress, spreading the values over the unused ones.
+	 */
+	private static int expand(int compressed, int used) {
+		int values = 0;
+		int free = ~used & 0x1fff;
+		for (int i = 0; free != 0; i++, free &= free - 1) {
+			if ((compressed >>> i & 1) != 0) {
+				values |= Integer.lowestOneBit(free);
+			}
+		}
+		return values;
+	}
+
+	/*
+	 * @return the set of the given number of values with the colex index
+	 */
+	private static int valueSet(long index, int count) {
+		int values = 0;
+		for (int j = count; j >= 1; j--) {
+			final long value = largestChoose(index, j);
+			index -= choose(value, j);
+			values |= 1 << value;
+		}
+		return values;
+	}
+
+	/*
+	 * @return the largest n where choose(n, k) <= value
+	 */
+	private static long largestChoose(long value, int k) {
+		long low = k - 1;
+		long high = k;
+		while (choose(high, k) <= value) {
+			high *= 2;
+		}
+		while (high - low > 1) {
+			final long middle = (low + high) >>> 1;
+			if (choose(middle, k) <= value) {
+				low = middle;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/*
+	 * @return the number of multisets of k elements taken from n
+	 */
+	private static long multichoose(long n, int k) {
+		return choose(n + k - 1, k);
+	}
+
+	private static long choose(long n, int k) {
+		if (k < 0 || n < k) {
+			return 0;
+		}
+		long result = 1;
+		for (int i = 1; i <= k; i++) {
+			result = result * (n - k + i) / i;
+		}
+		return result;
+	}
+}
@@ -0,0 +1,93 @@
+package me.ars.pokerbot.poker;
+
+/**
+ * Ranks ace-to-five low hands for hi/lo games with an eight-or-better
+ * qualifier: the best low is five cards of different values, none above an
+ * eight, with aces counting as ones and straights and flushes not counting
+ * against it. The best possible low is 5-4-3-2-A.
+ * <p>
+ * Only the distinct values from ace to eight matter, so every low is a
+ * lookup in a table of all 256 masks of those values, bit 0 being the ace and
+ * bit 7 the eight. Ranks are higher for better lows, like those of
+ * {@link HandEvaluator}, and {@link #NO_LOW} for hands that do not qualify.
+ */
+public final class LowEvaluator {
+	public static final int NO_LOW = -1;
+
+	private static final int LOW_CARDS = 5;
+
+	/*
+	 * rank of the best low in every mask of values, NO_LOW for masks of fewer
+	 * than five values
+	 */
+	private static final int[] LOW = new int[1 << 8];
+
+	static {
+		for (int mask = 0; mask < LOW.length; mask++) {
+			if (Integer.bitCount(mask) < LOW_CARDS) {
+				LOW[mask] = NO_LOW;
+				continue;
+			}
+			// the five lowest values, highest first, as nibbles
+			int packed = 0;
+			int rest = mask;
+			final int[] values = new int[LOW_CARDS];
+			for (int i = 0; i < LOW_CARDS; i++) {
+				values[i] = Integer.numberOfTrailingZeros(rest) + 1;
+				rest &= rest - 1;
+			}
+			for (int i = LOW_CARDS - 1; i >= 0; i--) {
+				packed = packed << 4 | values[i];
+			}
+			// a lower packed value is a better low
+			LOW[mask] = 0xfffff - packed;
+		}
+	}
+
+	private LowEvaluator() {
+	}
+
+	/*
+	 * @return the mask of the distinct values from ace to eight in the cards,
+	 * bit 0 being the ace
+	 */
+	static int lowValues(long cards) {
+		final int values = (int) (cards | cards >>> 16 | cards >>> 32 | cards >>> 48);
+		// twos to eights are bits 0 to 6 and the ace is bit 12
+		return (values & 0x7f) << 1 | values >>> 12 & 1;
+	}
+
+	/*
+	 * @param cards a CardSet of any number of cards
+	 * @return the rank of the best low any five of them make
+	 */
+	public static int rank(long cards) {
+		return LOW[lowValues(cards)];
+	}
+
+	/*
+	 * @param values a mask of values from lowValues
+	 */
+	static int rankOfValues(int values) {
+		return LOW[values];
+	}
+
+	/*
+	 * @return the low written from its highest card down, such as 8-5-3-2-A
+	 */
+	public static String toString(int rank) {
+		if (rank == NO_LOW) {
+			return "no low";
+		}
+		final int packed = 0xfffff - rank;
+		final StringBuilder builder = new StringBuilder();
+		for (int shift = 16; shift >= 0; shift -= 4) {
+			final int value = packed >>> shift & 0xf;
+			if (builder.length() > 0) {
+				builder.append('-');
+			}
+			builder.append(value == 1 ? "A" : Integer.toString(value));
+		}
+		return builder.toString();
+	}
+}
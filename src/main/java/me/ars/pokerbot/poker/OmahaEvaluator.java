@@ -0,0 +1,132 @@
+package me.ars.pokerbot.poker;
+
+/**
+ * Ranks Omaha hands, which are made of exactly two hole cards and exactly
+ * three board cards. With four hole cards and five board cards that is 6 * 10
+ * = 60 hands of five cards, each ranked with one lookup of
+ * {@link HandEvaluator}.
+ * <p>
+ * The rank keys and suit counts of every three cards of the board are worked
+ * out once, so ranking a player only adds those of two of their cards. The
+ * same goes for the low values of the board in hi/lo games, where the low
+ * also has to be made of two hole cards and three board cards.
+ */
+public final class OmahaEvaluator {
+	private static final int HOLE_CARDS_USED = 2;
+	private static final int BOARD_CARDS_USED = 3;
+
+	/*
+	 * every three cards of the board, with the sum of their rank keys and
+	 * their suit counts
+	 */
+	private final long[] triples;
+	private final int[] tripleKeys;
+	private final int[] tripleSuitCounts;
+
+	/*
+	 * LowEvaluator values of every three cards of the board, 0 for those that
+	 * cannot be part of a low
+	 */
+	private final int[] tripleLowValues;
+
+	/*
+	 * @param board a CardSet of three to five cards
+	 */
+	public OmahaEvaluator(long board) {
+		final int size = CardSet.size(board);
+		if (size < BOARD_CARDS_USED || size > 5) {
+			throw new IllegalArgumentException("Invalid board size: " + size);
+		}
+		final int[] bits = new int[size];
+		int n = 0;
+		for (long rest = board; rest != 0; rest &= rest - 1) {
+			bits[n++] = Long.numberOfTrailingZeros(rest);
+		}
+		final int count = size * (size - 1) * (size - 2) / 6;
+		triples = new long[count];
+		tripleKeys = new int[count];
+		tripleSuitCounts = new int[count];
+		tripleLowValues = new int[count];
+		int t = 0;
+		for (int i = 0; i < size; i++) {
+			for (int j = i + 1; j < size; j++) {
+				for (int k = j + 1; k < size; k++) {
+					triples[t] = 1L << bits[i] | 1L << bits[j] | 1L << bits[k];
+					tripleKeys[t] = Board.key(triples[t]);
+					tripleSuitCounts[t] = Board.suitCounts(triples[t]);
+					final int lowValues = LowEvaluator.lowValues(triples[t]);
+					tripleLowValues[t] = Integer.bitCount(lowValues) == BOARD_CARDS_USED ? lowValues : 0;
+					t++;
+				}
+			}
+		}
+	}
+
+	/*
+	 * @param holeCards a CardSet of at least two hole cards that are not on
+	 * the board
+	 * @return the rank of the best hand of two hole cards and three board
+	 * cards, as given by HandEvaluator
+	 */
+	public int rank(long holeCards) {
+		return (int) (best(holeCards) >>> 32);
+	}
+
+	/*
+	 * Ranks every hand of two hole cards and three board cards.
+	 *
+	 * @return the rank of the best hand in the high half, above the bits of
+	 * its two hole cards and the index of its three board cards, or -1 if
+	 * there are fewer than two hole cards
+	 */
+	private long best(long holeCards) {
+		long best = -1;
+		for (long first = holeCards; first != 0; first &= first - 1) {
+			final int firstBit = Long.numberOfTrailingZeros(first);
+			for (long second = first & (first - 1); second != 0; second &= second - 1) {
+				final int secondBit = Long.numberOfTrailingZeros(second);
+				final long pair = 1L << firstBit | 1L << secondBit;
+				final int pairKey = Board.key(pair);
+				final int pairSuitCounts = Board.suitCounts(pair);
+				for (int t = 0; t < triples.length; t++) {
+					final int rank = HandEvaluator.evaluate(pairKey + tripleKeys[t], pairSuitCounts + tripleSuitCounts[t],
+							pair | triples[t]);
+					// ranks are never negative, so the best hand also packs into the highest value
+					best = Math.max(best, (long) rank << 32 | firstBit << 16 | secondBit << 8 | t);
+				}
+			}
+		}
+		return best;
+	}
+
+	/*
+	 * @return the rank of the best eight-or-better low of two hole cards and
+	 * three board cards, as given by LowEvaluator
+	 */
+	public int lowRank(long holeCards) {
+		int best = LowEvaluator.NO_LOW;
+		for (long first = holeCards; first != 0; first &= first - 1) {
+			for (long second = first & (first - 1); second != 0; second &= second - 1) {
+				final int pairLowValues = LowEvaluator.lowValues(Long.lowestOneBit(first) | Long.lowestOneBit(second));
+				if (Integer.bitCount(pairLowValues) != HOLE_CARDS_USED) {
+					continue;
+				}
+				for (int tripleLowValue : tripleLowValues) {
+					if (tripleLowValue != 0 && (tripleLowValue & pairLowValues) == 0) {
+						best = Math.max(best, LowEvaluator.rankOfValues(pairLowValues | tripleLowValue));
+					}
+				}
+			}
+		}
+		return best;
+	}
+
+	public Hand getBestHand(Player player, long holeCards) {
+		if (CardSet.size(holeCards) < HOLE_CARDS_USED) {
+			throw new IllegalArgumentException("Invalid hole cards: " + CardSet.toString(holeCards));
+		}
+		final long best = best(holeCards);
+		final long cards = 1L << (best >>> 16 & 0xff) | 1L << (best >>> 8 & 0xff) | triples[(int) (best & 0xff)];
+		return new Hand(player, (int) (best >>> 32), cards);
+	}
+}
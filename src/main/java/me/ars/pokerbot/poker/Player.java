@@ -1,5 +1,8 @@
 package me.ars.pokerbot.poker;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 
 public class Player {
@@ -8,7 +11,7 @@ public class Player {
 	 */
 	private final String uniqueIdentifier;
 	private int money;
-	private Card card1, card2;
+	private Card[] holeCards = {};
 	private boolean active = true;
 	private boolean folded = false;
 	private boolean isAllIn = false;
@@ -66,17 +69,26 @@ public class Player {
 		folded = false;
 	}
 
-	final void receiveCards(Card card1, Card card2) {
-		this.card1 = card1;
-		this.card2 = card2;
+	final void receiveCards(Card... cards) {
+		this.holeCards = cards.clone();
 	}
 
+	/*
+	 * @return the first hole card, null before any were dealt
+	 */
 	public final Card getCard1() {
-		return card1;
+		return holeCards.length > 0 ? holeCards[0] : null;
 	}
 
 	public final Card getCard2() {
-		return card2;
+		return holeCards.length > 1 ? holeCards[1] : null;
+	}
+
+	/*
+	 * @return all hole cards, two in hold'em and four in Omaha
+	 */
+	public final List<Card> getHoleCards() {
+		return Collections.unmodifiableList(Arrays.asList(holeCards));
 	}
 
 	public final boolean isFolded() {
@@ -185,6 +185,14 @@ public class Pot {
         return totalRaised-owed;
     }
 
+    /**
+     * The largest raise the player may make in pot limit games, which is the size of the pot
+     * once they have called.
+     */
+    public int getPotLimitRaise(Player player) {
+        return getTotalMoney() + getTotalOwed(player);
+    }
+
     public void allIn(Player player) {
         player.setAllIn(true);
         raise(player, player.getMoney());
@@ -308,12 +316,43 @@ public class Pot {
      * Split up the winnings of this pot to multiple players
      */
     public void splitPot(Set<Player> winners) {
-        int winnings = getMoney() / winners.size();
+        splitPot(winners, getMoney());
+    }
+
+    private static void splitPot(Set<Player> winners, int money) {
+        int winnings = money / winners.size();
         for(Player winner: winners) {
             winner.win(winnings);
         }
     }
 
+    /**
+     * The half of this pot that goes to the best hand in hi/lo games, which gets the odd chip.
+     */
+    public int getHighHalf() {
+        return getMoney() - getLowHalf();
+    }
+
+    /**
+     * The half of this pot that goes to the best low in hi/lo games.
+     */
+    public int getLowHalf() {
+        return getMoney() / 2;
+    }
+
+    /**
+     * Split up the winnings of this pot between the best hands and the best lows, each half
+     * shared among its winners. Without any low the best hands win it all.
+     */
+    public void splitPot(Set<Player> highWinners, Set<Player> lowWinners) {
+        if (lowWinners.isEmpty()) {
+            splitPot(highWinners);
+            return;
+        }
+        splitPot(highWinners, getHighHalf());
+        splitPot(lowWinners, getLowHalf());
+    }
+
     /**
      * Returns true if the player does not owe anything to the pot.
      */
@@ -0,0 +1,246 @@
+package me.ars.pokerbot.poker;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Preflop equity of the 169 starting hands, against 1 to 9 random hands and
+ * against every other starting hand, read from a precomputed resource.
+ * <p>
+ * Starting hands are the preflop classes of {@link HandIndexer}. Head-to-head
+ * equities are averaged over all suits of both starting hands, so they do not
+ * account for the particular suits two players hold.
+ * <p>
+ * The resource is made by running this class with the path of the resource
+ * file, which takes a few minutes:
+ *
+ * <pre>
+ * mvn compile exec:java -Dexec.mainClass=me.ars.pokerbot.poker.PreflopEquity -Dexec.args=src/main/resources/preflop-equity.bin
+ * </pre>
+ */
+public final class PreflopEquity {
+	public static final int STARTING_HANDS = 169;
+	public static final int MAX_OPPONENTS = 9;
+
+	private static final String RESOURCE = "/preflop-equity.bin";
+	private static final int MAGIC = 0x50524546;
+	private static final int FORMAT_VERSION = 1;
+
+	/*
+	 * equities are stored as fractions of 65535
+	 */
+	private static final double SCALE = 0xffff;
+
+	/*
+	 * runouts per pair of starting hands, and the allowed error against random
+	 * hands, when generating
+	 */
+	private static final int HEADS_UP_RUNOUTS = 100_000;
+	private static final double RANDOM_MAX_ERROR = 0.002;
+
+	/*
+	 * starting hand by the ordinals of its two cards, ordinal1 * 52 + ordinal2
+	 */
+	private static final byte[] STARTING_HAND = new byte[52 * 52];
+
+	/*
+	 * CardSets of every pair of hole cards of each starting hand
+	 */
+	private static final long[][] COMBINATIONS = new long[STARTING_HANDS][];
+
+	static {
+		final List<List<Long>> combinations = new ArrayList<>();
+		for (int i = 0; i < STARTING_HANDS; i++) {
+			combinations.add(new ArrayList<>());
+		}
+		final Card[] deck = Card.getDeck();
+		for (Card card1 : deck) {
+			for (Card card2 : deck) {
+				if (card1 != card2) {
+					final long cards = CardSet.of(card1, card2);
+					final int hand = (int) HandIndexer.PREFLOP.index(cards);
+					STARTING_HAND[card1.ordinal() * 52 + card2.ordinal()] = (byte) hand;
+					if (card1.ordinal() < card2.ordinal()) {
+						combinations.get(hand).add(cards);
+					}
+				}
+			}
+		}
+		for (int i = 0; i < STARTING_HANDS; i++) {
+			COMBINATIONS[i] = combinations.get(i).stream().mapToLong(Long::longValue).toArray();
+		}
+	}
+
+	/*
+	 * The tables of the resource, read on first use so that the generator can
+	 * run without them.
+	 */
+	private static final class Tables {
+		/*
+		 * equity by starting hand * MAX_OPPONENTS + opponents - 1
+		 */
+		static final char[] VS_RANDOM;
+
+		/*
+		 * equity by starting hand * STARTING_HANDS + other starting hand
+		 */
+		static final char[] HEADS_UP;
+
+		static {
+			final InputStream resource = PreflopEquity.class.getResourceAsStream(RESOURCE);
+			if (resource == null) {
+				throw new IllegalStateException("Missing resource " + RESOURCE);
+			}
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(resource))) {
+				if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+					throw new IllegalStateException("Resource " + RESOURCE + " is not of the expected version");
+				}
+				VS_RANDOM = readChars(in, STARTING_HANDS * MAX_OPPONENTS);
+				HEADS_UP = readChars(in, STARTING_HANDS * STARTING_HANDS);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	private PreflopEquity() {
+	}
+
+	/*
+	 * @return the starting hand of the two cards, 0..168
+	 */
+	public static int startingHand(Card card1, Card card2) {
+		return STARTING_HAND[card1.ordinal() * 52 + card2.ordinal()] & 0xff;
+	}
+
+	public static int startingHand(Player player) {
+		return startingHand(player.getCard1(), player.getCard2());
+	}
+
+	/*
+	 * @return the expected share of the pot against the number of random hands
+	 */
+	public static double vsRandom(Card card1, Card card2, int opponents) {
+		if (opponents < 1 || opponents > MAX_OPPONENTS) {
+			throw new IllegalArgumentException("Invalid number of opponents: " + opponents);
+		}
+		return Tables.VS_RANDOM[startingHand(card1, card2) * MAX_OPPONENTS + opponents - 1] / SCALE;
+	}
+
+	public static double vsRandom(Player player, int opponents) {
+		return vsRandom(player.getCard1(), player.getCard2(), opponents);
+	}
+
+	/*
+	 * @return the expected share of the pot of the first starting hand against
+	 * the second
+	 */
+	public static double headsUp(int startingHand, int otherStartingHand) {
+		return Tables.HEADS_UP[startingHand * STARTING_HANDS + otherStartingHand] / SCALE;
+	}
+
+	public static double headsUp(Player player, Player other) {
+		return headsUp(startingHand(player), startingHand(other));
+	}
+
+	private static char[] readChars(DataInputStream in, int length) throws IOException {
+		final char[] chars = new char[length];
+		for (int i = 0; i < length; i++) {
+			chars[i] = in.readChar();
+		}
+		return chars;
+	}
+
+	/*
+	 * Computes both tables on all threads and writes them to the file given as
+	 * the only argument.
+	 */
+	public static void main(String[] args) throws IOException {
+		final long start = System.nanoTime();
+		final EquityCalculator calculator = new EquityCalculator(ForkJoinPool.commonPool(), RANDOM_MAX_ERROR, 1,
+				TimeUnit.MINUTES);
+		final char[] vsRandom = new char[STARTING_HANDS * MAX_OPPONENTS];
+		for (int hand = 0; hand < STARTING_HANDS; hand++) {
+			for (int opponents = 1; opponents <= MAX_OPPONENTS; opponents++) {
+				final Equity equity = calculator.calculate(new long[] { COMBINATIONS[hand][0] }, opponents,
+						CardSet.EMPTY, CardSet.EMPTY);
+				vsRandom[hand * MAX_OPPONENTS + opponents - 1] = toChar(equity.getEquity(0));
+			}
+		}
+
+		final char[] headsUp = new char[STARTING_HANDS * STARTING_HANDS];
+		IntStream.range(0, STARTING_HANDS * STARTING_HANDS).parallel().forEach(pair -> {
+			final int hand = pair / STARTING_HANDS;
+			final int other = pair % STARTING_HANDS;
+			if (hand < other) {
+				final double equity = sampleHeadsUp(hand, other, new SplittableRandom(pair));
+				headsUp[pair] = toChar(equity);
+				headsUp[other * STARTING_HANDS + hand] = toChar(1 - equity);
+			} else if (hand == other) {
+				headsUp[pair] = toChar(0.5);
+			}
+		});
+
+		try (OutputStream file = Files.newOutputStream(Paths.get(args[0]));
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			for (char equity : vsRandom) {
+				out.writeChar(equity);
+			}
+			for (char equity : headsUp) {
+				out.writeChar(equity);
+			}
+		}
+		System.out.println("Wrote " + args[0] + " in " + (System.nanoTime() - start) / 1_000_000_000L + " s");
+	}
+
+	/*
+	 * @return the equity of the first starting hand over random suits of both
+	 * hands and random boards
+	 */
+	private static double sampleHeadsUp(int hand, int other, SplittableRandom random) {
+		final long[] combinations = COMBINATIONS[hand];
+		final long[] otherCombinations = COMBINATIONS[other];
+		double shares = 0;
+		int runouts = 0;
+		while (runouts < HEADS_UP_RUNOUTS) {
+			final long cards = combinations[random.nextInt(combinations.length)];
+			final long otherCards = otherCombinations[random.nextInt(otherCombinations.length)];
+			if (CardSet.intersects(cards, otherCards)) {
+				continue;
+			}
+			long board = CardSet.EMPTY;
+			while (CardSet.size(board) < 5) {
+				final int bit = random.nextInt(64);
+				// bits of no card are skipped as well
+				if ((bit & 0xf) < 13 && !CardSet.intersects(cards | otherCards | board, 1L << bit)) {
+					board |= 1L << bit;
+				}
+			}
+			final int rank = HandEvaluator.evaluate(board | cards);
+			final int otherRank = HandEvaluator.evaluate(board | otherCards);
+			shares += rank > otherRank ? 1 : rank == otherRank ? 0.5 : 0;
+			runouts++;
+		}
+		return shares / runouts;
+	}
+
+	private static char toChar(double equity) {
+		return (char) Math.round(equity * SCALE);
+	}
+}
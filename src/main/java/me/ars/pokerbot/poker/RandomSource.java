@@ -0,0 +1,213 @@
+package me.ars.pokerbot.poker;
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Where a table gets the randomness for its shuffles and spy cards, as named
+ * in the game configuration. Every table creates its own generator once and
+ * keeps it, so tables never contend for one.
+ */
+public enum RandomSource {
+	/*
+	 * SplittableRandom with a seed of its own, for fast play and simulations
+	 */
+	FAST("fast"),
+
+	/*
+	 * SplittableRandom with the seed of the configuration, so that the same
+	 * seed deals the same cards
+	 */
+	SEEDED("seeded"),
+
+	/*
+	 * SecureRandom, slower but unpredictable
+	 */
+	SECURE("secure");
+
+	private final String configName;
+
+	private RandomSource(String configName) {
+		this.configName = configName;
+	}
+
+	/*
+	 * @return the source of the name, or the fast one if there is none
+	 */
+	public static RandomSource fromConfig(String name) {
+		if (name == null) {
+			return FAST;
+		}
+		for (RandomSource source : values()) {
+			if (source.configName.equalsIgnoreCase(name.trim())) {
+				return source;
+			}
+		}
+		throw new IllegalArgumentException("Unknown random source: " + name);
+	}
+
+	public String getConfigName() {
+		return configName;
+	}
+
+	/*
+	 * @param seed the seed of a seeded source, ignored by the others
+	 * @return a new generator for one table
+	 */
+	public Random create(Long seed) {
+		switch (this) {
+		case FAST:
+			return new SplittableRandomAdapter(new SplittableRandom());
+		case SEEDED:
+			if (seed == null) {
+				throw new IllegalArgumentException("The seeded random source needs a seed");
+			}
+			return new SplittableRandomAdapter(new SplittableRandom(seed));
+		case SECURE:
+			return new SecureRandom();
+		default:
+			throw new IllegalStateException();
+		}
+	}
+
+	/*
+	 * The generator of the hands of a seeded game, reseeded at the start of
+	 * every hand so that a table keeps one for all of them. It deals the same
+	 * numbers as a SplittableRandom of the hand's seed, whose algorithm it
+	 * repeats on a seed of its own because SplittableRandom cannot be
+	 * reseeded.
+	 */
+	static final class HandRandom extends Random {
+		private static final long serialVersionUID = 1L;
+		private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+		private long seed;
+
+		/*
+		 * Starts over with the numbers of one hand of a game, the same for the
+		 * same seed and hand number.
+		 */
+		void reseed(long gameSeed, int handNumber) {
+			seed = handSeed(gameSeed, handNumber);
+		}
+
+		/*
+		 * Seeds a gamma apart would deal the same numbers one step apart, so
+		 * the hand number is mixed into the game seed instead of added to it.
+		 */
+		static long handSeed(long gameSeed, int handNumber) {
+			return mix64(gameSeed ^ mix64(handNumber + 1L));
+		}
+
+		private static long mix64(long z) {
+			z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+			z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+			return z ^ (z >>> 31);
+		}
+
+		private static int mix32(long z) {
+			z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+			return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+		}
+
+		@Override
+		protected int next(int bits) {
+			return nextInt() >>> (32 - bits);
+		}
+
+		@Override
+		public int nextInt() {
+			return mix32(seed += GOLDEN_GAMMA);
+		}
+
+		@Override
+		public int nextInt(int bound) {
+			if (bound <= 0) {
+				throw new IllegalArgumentException("bound must be positive");
+			}
+			int r = nextInt();
+			final int m = bound - 1;
+			if ((bound & m) == 0) {
+				r &= m;
+			} else {
+				for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) {
+					// rejected, the remainder would favour the lowest values
+				}
+			}
+			return r;
+		}
+
+		@Override
+		public long nextLong() {
+			return mix64(seed += GOLDEN_GAMMA);
+		}
+
+		@Override
+		public double nextDouble() {
+			return (nextLong() >>> 11) * 0x1.0p-53;
+		}
+
+		@Override
+		public boolean nextBoolean() {
+			return nextInt() < 0;
+		}
+
+		@Override
+		public void setSeed(long seed) {
+			// called by the constructor of Random, which leaves reseeding to reseed
+		}
+	}
+
+	/*
+	 * Lets a SplittableRandom stand in for a Random. Random's own seed and its
+	 * atomic updates are never used.
+	 */
+	static final class SplittableRandomAdapter extends Random {
+		private static final long serialVersionUID = 1L;
+
+		private final SplittableRandom random;
+
+		SplittableRandomAdapter(SplittableRandom random) {
+			this.random = random;
+		}
+
+		@Override
+		protected int next(int bits) {
+			return random.nextInt() >>> (32 - bits);
+		}
+
+		@Override
+		public int nextInt() {
+			return random.nextInt();
+		}
+
+		@Override
+		public int nextInt(int bound) {
+			return random.nextInt(bound);
+		}
+
+		@Override
+		public long nextLong() {
+			return random.nextLong();
+		}
+
+		@Override
+		public double nextDouble() {
+			return random.nextDouble();
+		}
+
+		@Override
+		public boolean nextBoolean() {
+			return random.nextBoolean();
+		}
+
+		@Override
+		public void setSeed(long seed) {
+			// called by the constructor of Random, before there is anything to seed
+			if (random != null) {
+				throw new UnsupportedOperationException();
+			}
+		}
+	}
+}
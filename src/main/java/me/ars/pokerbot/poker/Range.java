@@ -0,0 +1,284 @@
+package me.ars.pokerbot.poker;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A weighted set of hole cards a player may hold, as {@link CardSet}s of two
+ * cards each.
+ * <p>
+ * Ranges are written the usual way, as comma separated terms:
+ *
+ * <pre>
+ * QQ      a pair, all 6 combinations
+ * AKs     suited, 4 combinations
+ * AKo     offsuit, 12 combinations
+ * AK      both, 16 combinations
+ * 22+     a pair and every higher pair
+ * A2s+    the second value up to one below the first: A2s..AKs
+ * TT-77   every pair in between, also KTs-K7s
+ * AhKd    specific cards
+ * </pre>
+ *
+ * Any term can be followed by a weight, as in "AKo:0.5", which makes its
+ * combinations half as likely as the others. Later terms override earlier
+ * ones that name the same combinations.
+ */
+public final class Range {
+	private static final String VALUES = "23456789TJQKA";
+	private static final String SUITS = "shdc";
+
+	private final long[] combinations;
+	private final double[] weights;
+
+	/*
+	 * sum of the weights of all combinations up to and including each one
+	 */
+	private final double[] cumulativeWeights;
+
+	private Range(long[] combinations, double[] weights) {
+		this.combinations = combinations;
+		this.weights = weights;
+		cumulativeWeights = new double[weights.length];
+		double total = 0;
+		for (int i = 0; i < weights.length; i++) {
+			total += weights[i];
+			cumulativeWeights[i] = total;
+		}
+	}
+
+	/*
+	 * @return a range of exactly the given hole cards, all equally likely
+	 */
+	public static Range of(long... combinations) {
+		for (long cards : combinations) {
+			if (CardSet.size(cards) != 2) {
+				throw new IllegalArgumentException("Invalid hole cards: " + CardSet.toString(cards));
+			}
+		}
+		final double[] weights = new double[combinations.length];
+		Arrays.fill(weights, 1);
+		return new Range(combinations.clone(), weights);
+	}
+
+	public static Range parse(String range) {
+		final Map<Long, Double> combinations = new LinkedHashMap<>();
+		for (String term : range.split(",")) {
+			term = term.trim();
+			double weight = 1;
+			final int colon = term.indexOf(':');
+			if (colon >= 0) {
+				try {
+					weight = Double.parseDouble(term.substring(colon + 1).trim());
+				} catch (NumberFormatException nfe) {
+					throw new IllegalArgumentException("Invalid weight in " + term);
+				}
+				if (!(weight >= 0) || Double.isInfinite(weight)) {
+					throw new IllegalArgumentException("Invalid weight in " + term);
+				}
+				term = term.substring(0, colon).trim();
+			}
+			if (term.isEmpty()) {
+				continue;
+			}
+			for (long cards : parseTerm(term)) {
+				combinations.remove(cards);
+				if (weight > 0) {
+					combinations.put(cards, weight);
+				}
+			}
+		}
+		final long[] cards = new long[combinations.size()];
+		final double[] weights = new double[cards.length];
+		int i = 0;
+		for (Map.Entry<Long, Double> entry : combinations.entrySet()) {
+			cards[i] = entry.getKey();
+			weights[i] = entry.getValue();
+			i++;
+		}
+		return new Range(cards, weights);
+	}
+
+	private static long[] parseTerm(String term) {
+		final int dash = term.indexOf('-');
+		if (dash >= 0) {
+			final String from = term.substring(0, dash).trim();
+			final String to = term.substring(dash + 1).trim();
+			if (from.length() != to.length() || from.length() < 2 || from.length() > 3
+					|| !from.substring(2).equals(to.substring(2))) {
+				throw new IllegalArgumentException("Invalid range: " + term);
+			}
+			final int first = value(from.charAt(0), term);
+			final int second = value(from.charAt(1), term);
+			final int toFirst = value(to.charAt(0), term);
+			final int toSecond = value(to.charAt(1), term);
+			if (first == second) {
+				if (toFirst != toSecond) {
+					throw new IllegalArgumentException("Invalid range: " + term);
+				}
+				return pairs(Math.min(first, toFirst), Math.max(first, toFirst));
+			}
+			if (first != toFirst) {
+				throw new IllegalArgumentException("Invalid range: " + term);
+			}
+			return unpaired(first, Math.min(second, toSecond), Math.max(second, toSecond), from.substring(2), term);
+		}
+
+		final boolean plus = term.endsWith("+");
+		final String hand = plus ? term.substring(0, term.length() - 1) : term;
+		if (hand.length() == 4 && !plus) {
+			final long card1 = card(hand.charAt(0), hand.charAt(1), term);
+			final long card2 = card(hand.charAt(2), hand.charAt(3), term);
+			if (card1 == card2) {
+				throw new IllegalArgumentException("Invalid hand: " + term);
+			}
+			return new long[] { card1 | card2 };
+		}
+		if (hand.length() < 2 || hand.length() > 3) {
+			throw new IllegalArgumentException("Invalid hand: " + term);
+		}
+		final int first = value(hand.charAt(0), term);
+		final int second = value(hand.charAt(1), term);
+		if (first == second) {
+			if (hand.length() != 2) {
+				throw new IllegalArgumentException("Invalid hand: " + term);
+			}
+			return pairs(first, plus ? 14 : first);
+		}
+		final int high = Math.max(first, second);
+		final int low = Math.min(first, second);
+		return unpaired(high, low, plus ? high - 1 : low, hand.substring(2), term);
+	}
+
+	private static long[] pairs(int from, int to) {
+		final long[] combinations = new long[6 * (to - from + 1)];
+		int i = 0;
+		for (int value = from; value <= to; value++) {
+			final long cards = CardSet.ofValue(value);
+			for (long rest = cards; rest != 0; rest &= rest - 1) {
+				for (long other = rest & (rest - 1); other != 0; other &= other - 1) {
+					combinations[i++] = Long.lowestOneBit(rest) | Long.lowestOneBit(other);
+				}
+			}
+		}
+		return combinations;
+	}
+
+	/*
+	 * @param kind "s" for suited, "o" for offsuit, "" for both
+	 */
+	private static long[] unpaired(int high, int from, int to, String kind, String term) {
+		if (from >= high || to >= high) {
+			throw new IllegalArgumentException("Invalid hand: " + term);
+		}
+		final boolean suited = !kind.equals("o");
+		final boolean offsuit = !kind.equals("s");
+		if (!kind.isEmpty() && !(kind.equals("s") || kind.equals("o"))) {
+			throw new IllegalArgumentException("Invalid hand: " + term);
+		}
+		final long[] combinations = new long[((suited ? 4 : 0) + (offsuit ? 12 : 0)) * (to - from + 1)];
+		int i = 0;
+		for (int low = from; low <= to; low++) {
+			for (Card.Suit highSuit : Card.Suit.values()) {
+				for (Card.Suit lowSuit : Card.Suit.values()) {
+					if (highSuit == lowSuit ? suited : offsuit) {
+						combinations[i++] = CardSet.of(Card.of(high, highSuit), Card.of(low, lowSuit));
+					}
+				}
+			}
+		}
+		return combinations;
+	}
+
+	private static int value(char c, String term) {
+		final int value = VALUES.indexOf(Character.toUpperCase(c));
+		if (value < 0) {
+			throw new IllegalArgumentException("Invalid value " + c + " in " + term);
+		}
+		return value + 2;
+	}
+
+	private static long card(char value, char suit, String term) {
+		final int s = SUITS.indexOf(Character.toLowerCase(suit));
+		if (s < 0) {
+			throw new IllegalArgumentException("Invalid suit " + suit + " in " + term);
+		}
+		return CardSet.of(Card.of(value(value, term), Card.Suit.values()[s]));
+	}
+
+	/*
+	 * @return the number of combinations
+	 */
+	public int size() {
+		return combinations.length;
+	}
+
+	public long getCombination(int i) {
+		return combinations[i];
+	}
+
+	public double getWeight(int i) {
+		return weights[i];
+	}
+
+	/*
+	 * @return the range without the combinations that hold any of the cards,
+	 * such as those on the board
+	 */
+	public Range remove(long cards) {
+		int n = 0;
+		for (long combination : combinations) {
+			if (!CardSet.intersects(combination, cards)) {
+				n++;
+			}
+		}
+		if (n == combinations.length) {
+			return this;
+		}
+		final long[] remaining = new long[n];
+		final double[] remainingWeights = new double[n];
+		n = 0;
+		for (int i = 0; i < combinations.length; i++) {
+			if (!CardSet.intersects(combinations[i], cards)) {
+				remaining[n] = combinations[i];
+				remainingWeights[n++] = weights[i];
+			}
+		}
+		return new Range(remaining, remainingWeights);
+	}
+
+	/*
+	 * @return a combination at random, in proportion to its weight
+	 */
+	long sample(SplittableRandom random) {
+		final double total = cumulativeWeights[cumulativeWeights.length - 1];
+		final int i = Arrays.binarySearch(cumulativeWeights, random.nextDouble() * total);
+		// binarySearch gives -(insertion point) - 1 for values it does not find
+		return combinations[i >= 0 ? Math.min(i + 1, combinations.length - 1) : -i - 1];
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < combinations.length; i++) {
+			if (i > 0) {
+				builder.append(", ");
+			}
+			final Card[] cards = CardSet.toCards(combinations[i]);
+			// higher value first, as ranges are written
+			final int high = cards[0].getValue() >= cards[1].getValue() ? 0 : 1;
+			append(builder, cards[high]);
+			append(builder, cards[1 - high]);
+			if (weights[i] != 1) {
+				builder.append(':').append(weights[i]);
+			}
+		}
+		return builder.toString();
+	}
+
+	private static void append(StringBuilder builder, Card card) {
+		builder.append(VALUES.charAt(card.getValue() - 2)).append(SUITS.charAt(card.getSuit().ordinal()));
+	}
+}
@@ -0,0 +1,349 @@
+package me.ars.pokerbot.poker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import me.ars.pokerbot.poker.Hand.HandType;
+
+/*
+ * Lookup tables behind HandEvaluator.
+ *
+ * Hands without a flush only depend on how many cards of each value they
+ * hold. Every value has a key in RANK_KEYS, chosen so that the sum of the keys
+ * of up to seven cards is unique for every possible combination of values.
+ * Those sums are sparse (up to 2^25), so they are stored in an open addressing
+ * table of (sum, rank) pairs, which is rarely more than one probe away.
+ *
+ * Flushes only depend on the values of the flush suit, so they are looked up
+ * directly by the 13 bit value mask of that suit.
+ *
+ * Every Ranking has tables of its own, generated the same way from the values
+ * its deck holds and the order of its hand types.
+ *
+ * The tables can be written to a file and mapped back read only, which keeps
+ * them off the heap. The file starts with a header of MAGIC, FORMAT_VERSION, a
+ * hash of the table layout and the CRC32 of the rest, all little endian ints,
+ * followed by the flush table and the non flush table. Only the tables of the
+ * standard ranking are written.
+ */
+final class RankTables {
+	static final int[] RANK_KEYS = { 0x2000, 0x8001, 0x11000, 0x3a000, 0x91000, 0x176005, 0x366000, 0x41a013,
+			0x47802e, 0x479068, 0x48c0e4, 0x48f211, 0x494493 };
+
+	/*
+	 * 2^18 slots for the 76154 non empty combinations of up to 7 values, sparse
+	 * enough that most lookups find their key in the first slot
+	 */
+	static final int NON_FLUSH_BITS = 18;
+
+	private static final int MAX_CARDS = 7;
+
+	private static final int FLUSH_SIZE = 1 << 13;
+	private static final int NON_FLUSH_SIZE = 2 << NON_FLUSH_BITS;
+
+	private static final int MAGIC = 0x504b5254;
+
+	/*
+	 * to be increased whenever the ranks change in a way the layout hash does
+	 * not cover
+	 */
+	static final int FORMAT_VERSION = 1;
+
+	private static final int HEADER_BYTES = 4 * Integer.BYTES;
+	private static final int FILE_BYTES = HEADER_BYTES + (FLUSH_SIZE + NON_FLUSH_SIZE) * Integer.BYTES;
+
+	/*
+	 * packed rank by the value mask of the flush suit
+	 */
+	final IntBuffer flush;
+
+	/*
+	 * rank key sum at even indices followed by its packed rank, 0 for an empty
+	 * slot
+	 */
+	final IntBuffer nonFlush;
+
+	private RankTables(IntBuffer flush, IntBuffer nonFlush) {
+		this.flush = flush;
+		this.nonFlush = nonFlush;
+	}
+
+	static RankTables generate() {
+		return generate(Ranking.STANDARD);
+	}
+
+	static RankTables generate(Ranking ranking) {
+		// values below the lowest card of the deck are never looked up
+		final int lowestIndex = ranking.getLowestValue() - 2;
+		final int[] flush = new int[FLUSH_SIZE];
+		for (int mask = 0; mask < flush.length; mask++) {
+			if (Integer.bitCount(mask) >= 5 && (mask & (1 << lowestIndex) - 1) == 0) {
+				flush[mask] = flushRank(ranking, mask);
+			}
+		}
+
+		final int size = countCombinations(lowestIndex, MAX_CARDS);
+		final int[] keys = new int[size];
+		final int[] ranks = new int[size];
+		fillCombinations(ranking, new int[13], lowestIndex, MAX_CARDS, 0, keys, ranks, new int[1]);
+
+		final int[] nonFlush = new int[NON_FLUSH_SIZE];
+		for (int i = 0; i < size; i++) {
+			if (keys[i] == 0) {
+				// no cards at all
+				continue;
+			}
+			int slot = slot(keys[i]);
+			while (nonFlush[slot] != 0) {
+				slot = (slot + 2) & (nonFlush.length - 1);
+			}
+			nonFlush[slot] = keys[i];
+			nonFlush[slot + 1] = ranks[i];
+		}
+		return new RankTables(IntBuffer.wrap(flush), IntBuffer.wrap(nonFlush));
+	}
+
+	/*
+	 * Maps the tables of a file written by write.
+	 *
+	 * @return the tables, or null if the file is missing, was written for other
+	 * tables or is damaged
+	 */
+	static RankTables map(Path file) throws IOException {
+		if (!Files.isRegularFile(file) || Files.size(file) != FILE_BYTES) {
+			return null;
+		}
+		final MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_BYTES);
+		}
+		buffer.order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION || buffer.getInt(8) != layoutHash()) {
+			return null;
+		}
+		final ByteBuffer data = buffer.position(HEADER_BYTES).slice().order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.getInt(12) != checksum(data.duplicate())) {
+			return null;
+		}
+		final IntBuffer ints = data.asIntBuffer();
+		final IntBuffer flush = ints.duplicate().limit(FLUSH_SIZE).slice();
+		final IntBuffer nonFlush = ints.duplicate().position(FLUSH_SIZE).slice();
+		return new RankTables(flush, nonFlush);
+	}
+
+	/*
+	 * Writes the tables next to the file and then moves them in place, so that
+	 * the file is never seen half written.
+	 */
+	void write(Path file) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate(FILE_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.position(HEADER_BYTES);
+		for (int i = 0; i < FLUSH_SIZE; i++) {
+			buffer.putInt(flush.get(i));
+		}
+		for (int i = 0; i < NON_FLUSH_SIZE; i++) {
+			buffer.putInt(nonFlush.get(i));
+		}
+		buffer.position(HEADER_BYTES);
+		final int checksum = checksum(buffer.slice());
+		buffer.putInt(0, MAGIC).putInt(4, FORMAT_VERSION).putInt(8, layoutHash()).putInt(12, checksum);
+		buffer.rewind();
+
+		final Path absolute = file.toAbsolutePath();
+		final Path temporary = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+				channel.force(true);
+			}
+			Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+	}
+
+	private static int checksum(ByteBuffer data) {
+		final CRC32 crc = new CRC32();
+		crc.update(data);
+		return (int) crc.getValue();
+	}
+
+	/*
+	 * @return a hash of everything the content of the tables depends on
+	 */
+	private static int layoutHash() {
+		return (Arrays.hashCode(RANK_KEYS) * 31 + NON_FLUSH_BITS) * 31 + HandType.values().length;
+	}
+
+	/*
+	 * Ranks the cards the way the tables would, without them.
+	 *
+	 * @param cards a CardSet of up to seven cards
+	 */
+	static int rank(long cards) {
+		return rank(Ranking.STANDARD, cards);
+	}
+
+	static int rank(Ranking ranking, long cards) {
+		final int a = (int) cards & 0x1fff;
+		final int b = (int) (cards >>> 16) & 0x1fff;
+		final int c = (int) (cards >>> 32) & 0x1fff;
+		final int d = (int) (cards >>> 48) & 0x1fff;
+		if (Integer.bitCount(a) >= 5) {
+			return flushRank(ranking, a);
+		} else if (Integer.bitCount(b) >= 5) {
+			return flushRank(ranking, b);
+		} else if (Integer.bitCount(c) >= 5) {
+			return flushRank(ranking, c);
+		} else if (Integer.bitCount(d) >= 5) {
+			return flushRank(ranking, d);
+		}
+		final int quads = a & b & c & d;
+		final int atLeastTrips = a & b & c | a & b & d | a & c & d | b & c & d;
+		final int atLeastPairs = a & b | a & c | a & d | b & c | b & d | c & d;
+		return nonFlushRank(ranking, a | b | c | d, atLeastPairs & ~atLeastTrips, atLeastTrips & ~quads, quads);
+	}
+
+	/*
+	 * @return the index in nonFlush where probing for the key starts
+	 */
+	static int slot(int key) {
+		return (key * 0x9e3779b1) >>> (32 - NON_FLUSH_BITS) << 1;
+	}
+
+	private static int countCombinations(int value, int cardsLeft) {
+		if (value == 13) {
+			return 1;
+		}
+		int count = 0;
+		for (int n = 0; n <= Math.min(4, cardsLeft); n++) {
+			count += countCombinations(value + 1, cardsLeft - n);
+		}
+		return count;
+	}
+
+	private static void fillCombinations(Ranking ranking, int[] counts, int value, int cardsLeft, int key,
+			int[] keys, int[] ranks, int[] index) {
+		if (value == 13) {
+			keys[index[0]] = key;
+			ranks[index[0]] = nonFlushRank(ranking, counts);
+			index[0]++;
+			return;
+		}
+		for (int n = 0; n <= Math.min(4, cardsLeft); n++) {
+			counts[value] = n;
+			fillCombinations(ranking, counts, value + 1, cardsLeft - n, key + n * RANK_KEYS[value], keys, ranks,
+					index);
+		}
+		counts[value] = 0;
+	}
+
+	/*
+	 * @param mask bit i set for every card of value i + 2 in the flush suit
+	 */
+	static int flushRank(Ranking ranking, int mask) {
+		final int straight = straightTop(ranking, mask);
+		if (straight != 0) {
+			return pack(ranking, HandType.STRAIGHT_FLUSH, straight, 1);
+		}
+		return pack(ranking, HandType.FLUSH, highest(mask, 5), 5);
+	}
+
+	/*
+	 * @param counts number of cards of value i + 2 at index i
+	 */
+	static int nonFlushRank(Ranking ranking, int[] counts) {
+		final int[] masks = new int[5];
+		for (int i = 0; i < counts.length; i++) {
+			masks[counts[i]] |= 1 << i;
+		}
+		return nonFlushRank(ranking, masks[1] | masks[2] | masks[3] | masks[4], masks[2], masks[3], masks[4]);
+	}
+
+	/*
+	 * @param present values held at least once, value v at bit v - 2
+	 * @param pairMask values held exactly twice
+	 * @param tripsMask values held exactly three times
+	 * @param quadsMask values held four times
+	 */
+	private static int nonFlushRank(Ranking ranking, int present, int pairMask, int tripsMask, int quadsMask) {
+		final int quads = 31 - Integer.numberOfLeadingZeros(quadsMask);
+		final int trips = 31 - Integer.numberOfLeadingZeros(tripsMask);
+		// a second set of trips can still make up the pair of a full house
+		final int pairs = trips >= 0 ? pairMask | tripsMask & ~(1 << trips) : pairMask;
+
+		if (quads >= 0) {
+			return pack(ranking, HandType.FOUR_OF_KIND, (quads + 2) << 4 | highest(present & ~(1 << quads), 1), 2);
+		}
+		if (trips >= 0 && pairs != 0) {
+			return pack(ranking, HandType.FULL_HOUSE, (trips + 2) << 4 | highest(pairs, 1), 2);
+		}
+		final int straight = straightTop(ranking, present);
+		if (straight != 0) {
+			return pack(ranking, HandType.STRAIGHT, straight, 1);
+		}
+		if (trips >= 0) {
+			return pack(ranking, HandType.THREE_OF_KIND, (trips + 2) << 8 | highest(present & ~(1 << trips), 2), 3);
+		}
+		if (Integer.bitCount(pairs) >= 2) {
+			final int first = 31 - Integer.numberOfLeadingZeros(pairs);
+			final int second = 31 - Integer.numberOfLeadingZeros(pairs & ~(1 << first));
+			final int kicker = highest(present & ~(1 << first) & ~(1 << second), 1);
+			return pack(ranking, HandType.TWO_PAIR, (first + 2) << 8 | (second + 2) << 4 | kicker, 3);
+		}
+		if (pairs != 0) {
+			final int pair = 31 - Integer.numberOfLeadingZeros(pairs);
+			return pack(ranking, HandType.ONE_PAIR, (pair + 2) << 12 | highest(present & ~pairs, 3), 4);
+		}
+		return pack(ranking, HandType.HIGH_CARD, highest(present, 5), 5);
+	}
+
+	/*
+	 * @return the value of the highest card of a straight in the mask, or 0
+	 */
+	static int straightTop(Ranking ranking, int mask) {
+		// shift everything up one step, and let the ace also count as the value below the lowest card
+		final int m = mask << 1 | mask >>> 12 << ranking.getLowestValue() - 2;
+		final int run = m & m >>> 1 & m >>> 2 & m >>> 3 & m >>> 4;
+		if (run == 0) {
+			return 0;
+		}
+		return 31 - Integer.numberOfLeadingZeros(run) + 5;
+	}
+
+	/*
+	 * @return the n highest values in the mask as n nibbles, highest first.
+	 * Missing values are left as 0.
+	 */
+	private static int highest(int mask, int n) {
+		int values = 0;
+		for (int i = 0; i < n; i++) {
+			values <<= 4;
+			if (mask != 0) {
+				final int top = 31 - Integer.numberOfLeadingZeros(mask);
+				values |= top + 2;
+				mask &= ~(1 << top);
+			}
+		}
+		return values;
+	}
+
+	/*
+	 * @param values count nibbles of card values, most significant first
+	 */
+	private static int pack(Ranking ranking, HandType type, int values, int count) {
+		return ranking.strengthBits(type) | type.ordinal() << 20 | values << 4 * (5 - count);
+	}
+}
@@ -0,0 +1,94 @@
+package me.ars.pokerbot.poker;
+
+import java.util.Arrays;
+
+import me.ars.pokerbot.poker.Hand.HandType;
+
+/**
+ * The deck a hand is dealt from and the order of the hand types it makes,
+ * each with lookup tables of its own built by {@link RankTables}.
+ * <p>
+ * Ranks of the standard ranking are ordered by the {@link HandType} ordinal.
+ * Rankings that order the types differently put the strength of the type
+ * above it in the rank, so that ranks still compare with a single int
+ * comparison and {@link HandEvaluator#getHandType(int)} still works for them.
+ */
+public enum Ranking {
+	/*
+	 * all 52 cards, hand types in their usual order
+	 */
+	STANDARD(2, HandType.values()),
+
+	/*
+	 * 36 cards from sixes up, where a flush beats a full house and the ace
+	 * counts as a five in A-6-7-8-9
+	 */
+	SHORT_DECK(6, new HandType[] { HandType.HIGH_CARD, HandType.ONE_PAIR, HandType.TWO_PAIR, HandType.THREE_OF_KIND,
+			HandType.STRAIGHT, HandType.FULL_HOUSE, HandType.FLUSH, HandType.FOUR_OF_KIND,
+			HandType.STRAIGHT_FLUSH });
+
+	private static final int STRENGTH_SHIFT = 24;
+
+	private final int lowestValue;
+	private final HandType[] order;
+
+	/*
+	 * bits added to a rank of each type, by HandType ordinal
+	 */
+	private final int[] strengthBits = new int[HandType.values().length];
+
+	/*
+	 * CardSet of the deck
+	 */
+	private final long cards;
+
+	private Ranking(int lowestValue, HandType[] order) {
+		this.lowestValue = lowestValue;
+		this.order = order;
+		final boolean reordered = !Arrays.equals(order, HandType.values());
+		for (int strength = 0; strength < order.length; strength++) {
+			strengthBits[order[strength].ordinal()] = reordered ? strength << STRENGTH_SHIFT : 0;
+		}
+		long cards = CardSet.EMPTY;
+		for (int value = lowestValue; value <= 14; value++) {
+			cards |= CardSet.ofValue(value);
+		}
+		this.cards = cards;
+	}
+
+	/*
+	 * @return the value of the lowest card in the deck, the ace coming right
+	 * below it in the lowest straight
+	 */
+	public int getLowestValue() {
+		return lowestValue;
+	}
+
+	/*
+	 * @return a CardSet of every card in the deck
+	 */
+	public long getCards() {
+		return cards;
+	}
+
+	/*
+	 * @return every hand type, weakest first
+	 */
+	public HandType[] getHandTypes() {
+		return order.clone();
+	}
+
+	/*
+	 * @return every card of the deck in the order of Card.getDeck
+	 */
+	public Card[] getDeck() {
+		return CardSet.toCards(cards);
+	}
+
+	/*
+	 * @return the bits that order a rank of the type among the others
+	 */
+	int strengthBits(HandType type) {
+		return strengthBits[type.ordinal()];
+	}
+}
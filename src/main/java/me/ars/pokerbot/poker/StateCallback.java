@@ -59,6 +59,14 @@ public interface StateCallback {
      */
     void playerCannotRaise(Player player, int money);
 
+    /**
+     * Announce that a player tried to raise more than the pot limit allows.
+     *
+     * @param player   Player who tried to raise
+     * @param maxRaise The largest raise they can make
+     */
+    void playerCannotRaiseOverLimit(Player player, int maxRaise);
+
     /**
      * A player has gone all in.
      *
@@ -82,14 +90,22 @@ public interface StateCallback {
     void playerCashedOut(Player player, int money);
 
     /**
-     * Show the player the two cards they were dealt.
+     * Show the player the cards they were dealt.
      *
      * @param player Player receiving their cards
-     * @param card1 First card
-     * @param card2 Second card
+     * @param cards Their hole cards, two in hold'em and four in Omaha
      * @param spycard If playing with spycards
      */
-    void showPlayerCards(Player player, Card card1, Card card2, Card spycard);
+    void showPlayerCards(Player player, List<Card> cards, Card spycard);
+
+    /**
+     * Show a player the cards that would improve their hand if they came next, after the flop and
+     * after the turn.
+     *
+     * @param player Player receiving their outs
+     * @param outs   The outs, by the type of hand they would make, best first (never empty)
+     */
+    void showOuts(Player player, Map<Hand.HandType, List<Card>> outs);
 
     /**
      * Display the currently playing players and the money they have
@@ -105,6 +121,16 @@ public interface StateCallback {
      */
     void revealPlayers(Map<Player, List<Card>> reveal);
 
+    /**
+     * Show the chances of the players in the hand when everyone is all in, on
+     * every street before the river.
+     *
+     * @param players Players still in the hand
+     * @param equity  Their chances of winning or splitting the pot, in the order of [players], exact
+     *                from the flop on
+     */
+    void showEquity(List<Player> players, Equity equity);
+
     /**
      * Declare that a player has won the pot
      *
@@ -123,6 +149,15 @@ public interface StateCallback {
      */
     void declareSplitPot(List<Player> winners, Hand.HandType handType, int pot);
 
+    /**
+     * Declare that one or more players have won the low half of a pot in a hi/lo game
+     *
+     * @param winners The players with the best low, who split this half
+     * @param low     Their low, such as 8-5-3-2-A
+     * @param pot     The money in this half
+     */
+    void declareLowWinners(List<Player> winners, String low, int pot);
+
     /**
      * Declares who's turn it is.
      *
@@ -5,13 +5,41 @@ import me.ars.pokerbot.stats.Roster;
 import me.ars.pokerbot.config.GameConfig;
 
 import java.io.IOException;
+import java.security.SecureRandom;
 import java.util.*;
 import java.util.stream.Collectors;
 
 public class Table {
   private final StateCallback callback;
   private final List<Player> players = new ArrayList<>();
-  private final Queue<Card> deck = new ArrayDeque<>(52);
+  private final Deck deck = new Deck();
+
+  /*
+   * draws the seed of every game, or shuffles every hand itself when it is a SecureRandom
+   */
+  private final Random random;
+
+  /*
+   * shuffled decks to take instead of shuffling, or null
+   */
+  private final DeckPool deckPool;
+
+  /*
+   * the seed every shuffle and spy card of the current game derives from, or null when they
+   * come straight from a SecureRandom
+   */
+  private Long gameSeed;
+  private int handNumber;
+
+  /*
+   * shuffles the deck and picks the spy cards of the current hand
+   */
+  private Random handRandom;
+
+  /*
+   * reseeded for every hand of a seeded game, so hands allocate no generator
+   */
+  private final RandomSource.HandRandom seededRandom = new RandomSource.HandRandom();
   private final List<Card> table = new ArrayList<>(5);
   private final Queue<Player> buyInPlayers = new ArrayDeque<>();
   private final Roster roster;
@@ -23,11 +51,42 @@ public class Table {
   private int lastIndex;
   private int startPlayer;
 
+  /*
+   * the variant of the current hand, so that changing the configuration only
+   * takes effect from the next one
+   */
+  private Variant variant = Variant.HOLDEM;
+
   public Table(StateCallback callback, Roster roster, GameConfig config) {
+    this(callback, roster, config, (DeckPool) null);
+  }
+
+  /**
+   * @param deckPool where to take shuffled decks from, or null to always shuffle at the table
+   */
+  public Table(StateCallback callback, Roster roster, GameConfig config, DeckPool deckPool) {
+    this(callback, roster, config, RandomSource.fromConfig(config.random).create(config.seed), deckPool);
+  }
+
+  /**
+   * @param random the generator this table shuffles with from now on, which nothing else may use
+   */
+  public Table(StateCallback callback, Roster roster, GameConfig config, Random random) {
+    this(callback, roster, config, random, null);
+  }
+
+  /**
+   * @param random   the generator this table shuffles with from now on, which nothing else may use
+   * @param deckPool where to take shuffled decks from, or null to always shuffle with random
+   */
+  public Table(StateCallback callback, Roster roster, GameConfig config, Random random, DeckPool deckPool) {
     this.callback = callback;
     this.roster = roster;
     this.config = config;
     this.mainPot = new Pot();
+    this.random = random;
+    this.deckPool = deckPool;
+    this.handRandom = random;
   }
 
   private boolean verifyCurrentPlayer(Player player) {
@@ -56,6 +115,13 @@ public class Table {
     return players;
   }
 
+  /**
+   * @return The cards on the table, for as long as the current hand lasts
+   */
+  public List<Card> getTableCards() {
+    return Collections.unmodifiableList(table);
+  }
+
   public void showCurrent() {
     if (!gameInProgress) {
       callback.announce("Not currently playing.");
@@ -76,6 +142,7 @@ public class Table {
     callback.playerCalled(player, amount);
     if (isEveryoneAllin()) {
       revealHands(players);
+      showEquity();
     }
     nextTurn();
     return true;
@@ -112,6 +179,10 @@ public class Table {
     if (!verifyCurrentPlayer(player)) return false;
     setActivity();
 
+    if (variant.isPotLimit() && raise > mainPot.getPotLimitRaise(player)) {
+      callback.playerCannotRaiseOverLimit(player, mainPot.getPotLimitRaise(player));
+      return false;
+    }
     final int result = mainPot.raise(player, raise);
     if (result != -1) {
       callback.playerRaised(player, result);
@@ -130,11 +201,16 @@ public class Table {
   public void allIn(Player player) {
     if (!verifyCurrentPlayer(player)) return;
     setActivity();
+    if (variant.isPotLimit() && player.getMoney() - mainPot.getTotalOwed(player) > mainPot.getPotLimitRaise(player)) {
+      callback.playerCannotRaiseOverLimit(player, mainPot.getPotLimitRaise(player));
+      return;
+    }
     mainPot.allIn(player);
     callback.playerAllin(player);
     lastIndex = lastUnfolded(turnIndex - 1);
     if (isEveryoneAllin()) {
       revealHands(players);
+      showEquity();
     }
     nextTurn();
   }
@@ -191,18 +267,19 @@ public class Table {
 
   private void deal() {
     final boolean spyCards = config.spyCards != null && config.spyCards;
-    final Random random = new Random();
     Player unlucky = null;
     Card phony = null;
     for (Player player : players) {
-      final Card card1 = deck.poll();
-      final Card card2 = deck.poll();
-      player.receiveCards(card1, card2);
+      final Card[] cards = new Card[variant.getHoleCards()];
+      for (int i = 0; i < cards.length; i++) {
+        cards[i] = deck.deal();
+      }
+      player.receiveCards(cards);
     }
 
     if (spyCards) {
-      phony = deck.poll();
-      unlucky = players.get(random.nextInt(players.size()));
+      phony = deck.deal();
+      unlucky = players.get(handRandom.nextInt(players.size()));
     }
     for (Player player : players) {
       Card spyCard = null;
@@ -212,12 +289,12 @@ public class Table {
         } else {
           Player randPlayer = player;
           while (randPlayer.equals(player)) {
-            randPlayer = players.get(random.nextInt(players.size()));
+            randPlayer = players.get(handRandom.nextInt(players.size()));
           }
-          spyCard = pickRandomCard(random, randPlayer.getCard1(), randPlayer.getCard2());
+          spyCard = pickRandomCard(handRandom, randPlayer.getHoleCards().toArray(new Card[0]));
         }
       }
-      callback.showPlayerCards(player, player.getCard1(), player.getCard2(), spyCard);
+      callback.showPlayerCards(player, player.getHoleCards(), spyCard);
     }
   }
 
@@ -261,16 +338,25 @@ public class Table {
       return;
     }
 
+    variant = Variant.fromConfig(config.variant);
+    HandEvaluator.prepare(variant.getRanking());
     callback.announce("Starting new hand...");
 
     for (Player player : players) {
       player.newHand();
     }
 
-    final List<Card> rawDeck = Arrays.asList(Card.getDeck());
-    Collections.shuffle(rawDeck);
-    deck.clear();
-    deck.addAll(rawDeck);
+    if (gameSeed != null) {
+      seededRandom.reseed(gameSeed, handNumber++);
+      handRandom = seededRandom;
+      deck.reset(variant.getRanking());
+      deck.shuffle(handRandom);
+    } else if (deckPool != null) {
+      deckPool.take(deck, variant.getRanking(), random);
+    } else {
+      deck.reset(variant.getRanking());
+      deck.shuffle(random);
+    }
     table.clear();
     turnIndex = startPlayer;
     lastIndex = lastUnfolded(startPlayer - 1);
@@ -293,6 +379,20 @@ public class Table {
     }
   }
 
+  /**
+   * @return the seed of the current game, or null if its hands do not derive from one
+   */
+  public Long getGameSeed() {
+    return gameSeed;
+  }
+
+  /**
+   * @return the variant the current hand is played as
+   */
+  public Variant getVariant() {
+    return variant;
+  }
+
   public int getStartPlayer() {
     return startPlayer;
   }
@@ -312,6 +412,9 @@ public class Table {
         turnIndex = wrappedDecrement(startPlayer);
         lastIndex = lastUnfolded(startPlayer - 1);
         draw();
+        if (!isEveryoneAllin()) {
+          showOuts();
+        }
       }
     }
 
@@ -323,6 +426,7 @@ public class Table {
 
     if (isEveryoneAllin()) {
       callback.updateTable(table, mainPot.getMoney(), null);
+      showEquity();
       nextTurn();
     } else if (nextPlayer.isAllIn()) {
       callback.announce(nextPlayer.getName() + " is all-in, next player...");
@@ -343,51 +447,87 @@ public class Table {
   }
 
   private void checkWinners(Pot pot) {
+    // every player is ranked once, and that hand is used for every pot
+    final Board board = new Board(CardSet.of(table), variant.getRanking());
+    final OmahaEvaluator omaha = variant.getHoleCards() > 2 ? new OmahaEvaluator(board.getCards()) : null;
+    final Map<Player, Hand> showdownHands = new HashMap<>();
+    final Map<Player, Integer> lowRanks = new HashMap<>();
+    for (Player p : players) {
+      if (!p.isFolded()) {
+        showdownHands.put(p, omaha != null ? omaha.getBestHand(p, CardSet.of(p.getHoleCards()))
+            : board.getBestHand(p, p.getCard1(), p.getCard2()));
+        if (variant.isHiLo()) {
+          final int lowRank = omaha.lowRank(CardSet.of(p.getHoleCards()));
+          if (lowRank != LowEvaluator.NO_LOW) {
+            lowRanks.put(p, lowRank);
+          }
+        }
+      }
+    }
+    checkWinners(pot, showdownHands, lowRanks);
+  }
+
+  /**
+   * Pays out the pot and then its side pots. In hi/lo games the best low of each pot takes
+   * half of it, and the best hand takes the whole pot only if no participant has a low.
+   *
+   * @param lowRanks the low rank of every player who has a qualifying low
+   */
+  private void checkWinners(Pot pot, Map<Player, Hand> showdownHands, Map<Player, Integer> lowRanks) {
     final Set<Player> participants = pot.getParticipants();
     List<Hand> hands = new ArrayList<>(participants.size());
     for (Player p : participants) {
-      final Card[] playerCards = table.toArray(new Card[7]);
-      playerCards[5] = p.getCard1();
-      playerCards[6] = p.getCard2();
-      hands.add(Hand.getBestHand(p, playerCards));
+      final Hand hand = showdownHands.get(p);
+      if (hand != null) {
+        hands.add(hand);
+      }
     }
 
     hands.sort(Collections.reverseOrder());
-    Iterator<Hand> orderedHands = hands.iterator();
-    Hand winningHand;
-    Player winner1;
+    final Hand winningHand = hands.get(0);
+    final Player winner1 = winningHand.getPlayer();
 
-    do {
-      winningHand = orderedHands.next();
-      winner1 = winningHand.getPlayer();
-    } while (winner1.isFolded());
-
-    List<Hand> winners = new ArrayList<>(players.size());
+    List<Hand> winners = new ArrayList<>(hands.size());
     winners.add(winningHand);
 
-    while (orderedHands.hasNext()) {
-      Hand next = orderedHands.next();
+    for (int i = 1; i < hands.size(); i++) {
+      final Hand next = hands.get(i);
       if (winningHand.compareTo(next) != 0)
         break;
 
-      if (!next.getPlayer().isFolded())
-        winners.add(next);
+      winners.add(next);
     }
     revealHands(participants);
 
+    int bestLow = LowEvaluator.NO_LOW;
+    for (Player p : participants) {
+      bestLow = Math.max(bestLow, lowRanks.getOrDefault(p, LowEvaluator.NO_LOW));
+    }
+    final List<Player> lowWinners = new ArrayList<>();
+    if (bestLow != LowEvaluator.NO_LOW) {
+      for (Player p : participants) {
+        if (lowRanks.getOrDefault(p, LowEvaluator.NO_LOW) == bestLow) {
+          lowWinners.add(p);
+        }
+      }
+    }
+    final int highMoney = lowWinners.isEmpty() ? pot.getMoney() : pot.getHighHalf();
+
     int numWinners = winners.size();
 
     if (numWinners == 1) {
-      callback.declareWinner(winner1, winningHand, pot.getMoney());
-      winner1.win(pot.getMoney());
+      callback.declareWinner(winner1, winningHand, highMoney);
     } else {
       callback.declareSplitPot(winners.stream().map(Hand::getPlayer)
-              .collect(Collectors.toList()), winningHand.getHandType(), pot.getMoney());
-      pot.splitPot(winners.stream().map(Hand::getPlayer).collect(Collectors.toSet()));
+              .collect(Collectors.toList()), winningHand.getHandType(), highMoney);
     }
+    if (!lowWinners.isEmpty()) {
+      callback.declareLowWinners(lowWinners, LowEvaluator.toString(bestLow), pot.getLowHalf());
+    }
+    pot.splitPot(winners.stream().map(Hand::getPlayer).collect(Collectors.toSet()), new HashSet<>(lowWinners));
     if (pot.hasSidePot()) {
       callback.announce("Checking for sidepot winnings...");
-      checkWinners(pot.getSidePot());
+      checkWinners(pot.getSidePot(), showdownHands, lowRanks);
     }
   }
 
@@ -398,16 +538,68 @@ public class Table {
     final Map<Player, List<Card>> reveal = new HashMap<>();
     for (Player p : currentPlayers) {
       if (!p.isFolded()) {
-        final List<Card> cards = new ArrayList<>();
-        cards.add(p.getCard1());
-        cards.add(p.getCard2());
-        reveal.put(p, cards);
+        reveal.put(p, p.getHoleCards());
       }
     }
 
     callback.revealPlayers(reveal);
   }
 
+  /**
+   * Shows the chances of every player in the hand, for when no more bets can be made and the
+   * rest of the board is only dealt out. Only hold'em hands are worked out, exactly from the
+   * flop on. Enumerating every preflop board would hold up every table of the bot, so preflop
+   * only heads-up chances are shown, from the precomputed {@link PreflopEquity}.
+   */
+  private void showEquity() {
+    if (table.size() == 5 || variant != Variant.HOLDEM) {
+      return;
+    }
+    final List<Player> inHand = players.stream().filter(p -> !p.isNotPlaying()).collect(Collectors.toList());
+    if (inHand.size() < 2) {
+      return;
+    }
+    if (table.isEmpty()) {
+      if (inHand.size() == 2) {
+        callback.showEquity(inHand, Equity.headsUp(PreflopEquity.headsUp(inHand.get(0), inHand.get(1))));
+      }
+      return;
+    }
+    final long[] holeCards = new long[inHand.size()];
+    for (int i = 0; i < holeCards.length; i++) {
+      holeCards[i] = CardSet.of(inHand.get(i).getCard1(), inHand.get(i).getCard2());
+    }
+    callback.showEquity(inHand, EquityCalculator.enumerate(holeCards, CardSet.of(table), CardSet.EMPTY));
+  }
+
+  /**
+   * Privately shows every player still in the hand the cards that would improve it, after the
+   * flop and after the turn. Only hold'em hands, from either deck, are worked out.
+   */
+  private void showOuts() {
+    if (table.size() < 3 || table.size() > 4 || variant.getHoleCards() != 2) {
+      return;
+    }
+    final Board board = new Board(CardSet.of(table), variant.getRanking());
+    final Hand.HandType[] types = variant.getRanking().getHandTypes();
+    for (Player player : players) {
+      if (player.isNotPlaying()) {
+        continue;
+      }
+      final Map<Hand.HandType, Long> outs = board.outs(player.getCard1(), player.getCard2());
+      if (outs.isEmpty()) {
+        continue;
+      }
+      final Map<Hand.HandType, List<Card>> bestFirst = new LinkedHashMap<>();
+      for (int i = types.length - 1; i >= 0; i--) {
+        if (outs.containsKey(types[i])) {
+          bestFirst.put(types[i], CardSet.toList(outs.get(types[i])));
+        }
+      }
+      callback.showOuts(player, bestFirst);
+    }
+  }
+
   private void sendStatus(Player player) {
     callback.updateTable(table, mainPot.getMoney(), player);
     callback.declarePlayerTurn(player);
@@ -441,15 +633,35 @@ public class Table {
 
   private void draw() {
     if (table.isEmpty()) {
-      table.add(deck.poll());
-      table.add(deck.poll());
-      table.add(deck.poll());
+      table.add(deck.deal());
+      table.add(deck.deal());
+      table.add(deck.deal());
     } else if (table.size() < 5) {
-      table.add(deck.poll());
+      table.add(deck.deal());
     }
   }
 
+  /**
+   * Starts a game whose hands all derive from a new seed, except at tables that shuffle with a
+   * SecureRandom, which shuffle every hand from it instead.
+   */
   public void startGame() {
+    startGame(random instanceof SecureRandom ? null : random.nextLong());
+  }
+
+  /**
+   * Starts a game whose shuffles and spy cards all derive from the seed, so that the same seed
+   * and the same actions of the same players deal the same hands again.
+   *
+   * @param seed the seed of the game, or null to take every hand's randomness from the table
+   */
+  public void startGame(Long seed) {
+    gameSeed = seed;
+    handNumber = 0;
+    handRandom = random;
+    if (seed != null) {
+      System.out.println("Game seed: " + seed);
+    }
     callback.announce("Starting game with: "
         + players.stream().map(Player::getName)
         .collect(Collectors.joining(", ")) + ".");
@@ -710,6 +922,23 @@ public class Table {
           callback.announce("Spycards enabled: " + newSpy);
           break;
         }
+        case "variant": {
+          if (newValue == null) {
+            callback.announce("The table is playing " + Variant.fromConfig(config.variant).getConfigName() + ".");
+            break;
+          }
+          final Variant newVariant;
+          try {
+            newVariant = Variant.fromConfig(newValue);
+          } catch (IllegalArgumentException e) {
+            callback.announce("Invalid variant: " + newValue + ". Use holdem, shortdeck, omaha or omaha8.");
+            break;
+          }
+          config.variant = newVariant.getConfigName();
+          callback.announce("Changed variant to " + newVariant.getConfigName()
+              + (gameInProgress ? ", starting with the next hand." : "."));
+          break;
+        }
         default: {
           callback.announce("Unrecognized option: " + option);
           break;
@@ -0,0 +1,89 @@
+package me.ars.pokerbot.poker;
+
+/**
+ * The kinds of poker a table can deal, as named in the game configuration.
+ */
+public enum Variant {
+	/*
+	 * no limit Texas hold'em
+	 */
+	HOLDEM("holdem", 2, false, false, Ranking.STANDARD),
+
+	/*
+	 * no limit hold'em with a short deck of sixes and up
+	 */
+	SHORT_DECK("shortdeck", 2, false, false, Ranking.SHORT_DECK),
+
+	/*
+	 * pot limit Omaha, where a hand is made of exactly two of the four hole
+	 * cards and three of the board
+	 */
+	OMAHA("omaha", 4, true, false, Ranking.STANDARD),
+
+	/*
+	 * pot limit Omaha hi/lo, where every pot is split between the best hand
+	 * and the best eight-or-better low
+	 */
+	OMAHA_HI_LO("omaha8", 4, true, true, Ranking.STANDARD);
+
+	private final String configName;
+	private final int holeCards;
+	private final boolean potLimit;
+	private final boolean hiLo;
+	private final Ranking ranking;
+
+	private Variant(String configName, int holeCards, boolean potLimit, boolean hiLo, Ranking ranking) {
+		this.configName = configName;
+		this.holeCards = holeCards;
+		this.potLimit = potLimit;
+		this.hiLo = hiLo;
+		this.ranking = ranking;
+	}
+
+	/*
+	 * @return the variant of the name, or hold'em if there is none
+	 */
+	public static Variant fromConfig(String name) {
+		if (name == null) {
+			return HOLDEM;
+		}
+		for (Variant variant : values()) {
+			if (variant.configName.equalsIgnoreCase(name.trim())) {
+				return variant;
+			}
+		}
+		throw new IllegalArgumentException("Unknown variant: " + name);
+	}
+
+	public String getConfigName() {
+		return configName;
+	}
+
+	/*
+	 * @return the number of hole cards every player is dealt
+	 */
+	public int getHoleCards() {
+		return holeCards;
+	}
+
+	/*
+	 * @return whether raises are capped at the size of the pot
+	 */
+	public boolean isPotLimit() {
+		return potLimit;
+	}
+
+	/*
+	 * @return whether half of every pot goes to the best low
+	 */
+	public boolean isHiLo() {
+		return hiLo;
+	}
+
+	/*
+	 * @return the deck and the order of hands
+	 */
+	public Ranking getRanking() {
+		return ranking;
+	}
+}
@@ -0,0 +1,49 @@
+package me.ars.pokerbot.irc;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.ars.pokerbot.poker.Card;
+import me.ars.pokerbot.poker.Card.Suit;
+import me.ars.pokerbot.poker.CardSet;
+import me.ars.pokerbot.poker.EquityCache;
+import me.ars.pokerbot.poker.EquityService;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class KittehBotTest {
+  private final Card aceOfHearts = Card.of(14, Suit.HEARTS);
+  private final Card aceOfSpades = Card.of(14, Suit.SPADES);
+  private final EquityService odds = new EquityService(1, 4, 50, TimeUnit.MILLISECONDS, new EquityCache(1 << 20));
+
+  @After
+  public void after() {
+    odds.shutdown();
+  }
+
+  @Test
+  public void testPreflopOddsSkipTheEquityService() {
+    final AtomicReference<String> reply = new AtomicReference<>();
+    Assert.assertTrue(KittehBot.answerOdds(odds, aceOfHearts, aceOfSpades, 1, CardSet.EMPTY, reply::set));
+    Assert.assertEquals("Your odds against 1 random hand: 85.2%", reply.get());
+    // every request the service takes looks in its cache first
+    Assert.assertEquals(0, odds.getCache().getHits() + odds.getCache().getMisses());
+  }
+
+  @Test
+  public void testFlopOddsComeFromTheEquityService() throws InterruptedException {
+    final long flop = CardSet.of(Card.of(2, Suit.CLUBS), Card.of(7, Suit.DIAMONDS), Card.of(11, Suit.HEARTS));
+    final CountDownLatch answered = new CountDownLatch(1);
+    final AtomicReference<String> reply = new AtomicReference<>();
+    Assert.assertTrue(KittehBot.answerOdds(odds, aceOfHearts, aceOfSpades, 2, flop, answer -> {
+      reply.set(answer);
+      answered.countDown();
+    }));
+    Assert.assertTrue(answered.await(1, TimeUnit.SECONDS));
+    Assert.assertTrue(reply.get(), reply.get().startsWith("Your odds against 2 random hands: "));
+    Assert.assertEquals(1, odds.getCache().getMisses());
+  }
+}
@@ -0,0 +1,49 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.ars.pokerbot.poker.Card.Suit;
+import me.ars.pokerbot.poker.Hand.HandType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class BoardTest {
+  @Test
+  public void testBoardMatchesFullEvaluation() {
+    final Random random = new Random(42);
+    for (int i = 0; i < 10000; i++) {
+      final List<Card> deck = new ArrayList<>(Arrays.asList(Card.getDeck()));
+      Collections.shuffle(deck, random);
+      final Board board = new Board(CardSet.of(deck.subList(0, 5)));
+      final Card card1 = deck.get(5);
+      final Card card2 = deck.get(6);
+      Assert.assertEquals(HandEvaluator.evaluate(CardSet.of(deck.subList(0, 7))), board.rank(card1, card2));
+    }
+  }
+
+  @Test
+  public void testOuts() {
+    final Card ace = Card.of(14, Suit.HEARTS);
+    final Card five = Card.of(5, Suit.HEARTS);
+    final long flop = CardSet.of(Card.of(13, Suit.HEARTS), Card.of(9, Suit.HEARTS), Card.of(2, Suit.CLUBS));
+    final Map<HandType, Long> outs = new Board(flop).outs(ace, five);
+    Assert.assertEquals(EnumSet.of(HandType.ONE_PAIR, HandType.FLUSH), outs.keySet());
+    Assert.assertEquals(CardSet.remove(CardSet.ofSuit(Suit.HEARTS), flop | CardSet.of(ace, five)),
+        (long) outs.get(HandType.FLUSH));
+    Assert.assertEquals(CardSet.remove(CardSet.ofValue(14) | CardSet.ofValue(5), CardSet.of(ace, five)),
+        (long) outs.get(HandType.ONE_PAIR));
+
+    // another two or king improves the board just as much, so on this turn they are no outs
+    final long turn = flop | CardSet.of(Card.of(2, Suit.DIAMONDS));
+    final Map<HandType, Long> turnOuts = new Board(turn).outs(ace, five);
+    Assert.assertEquals(EnumSet.of(HandType.TWO_PAIR, HandType.FLUSH), turnOuts.keySet());
+    Assert.assertEquals(outs.get(HandType.ONE_PAIR), turnOuts.get(HandType.TWO_PAIR));
+  }
+}
@@ -0,0 +1,45 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.ars.pokerbot.poker.Card.Suit;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+public class CardSetTest {
+
+  @Test
+  public void testRoundTrip() {
+    final Card[] deck = Card.getDeck();
+    final long set = CardSet.of(deck);
+    Assert.assertEquals(CardSet.DECK, set);
+    Assert.assertEquals(52, CardSet.size(set));
+    Assert.assertEquals(new HashSet<>(Arrays.asList(deck)), new HashSet<>(CardSet.toList(set)));
+    for (int i = 0; i < deck.length; i++) {
+      final Card card = deck[i];
+      Assert.assertEquals(i, card.ordinal());
+      Assert.assertSame(card, Card.of(card.getValue(), card.getSuit()));
+      Assert.assertSame(card, Card.fromOrdinal(card.ordinal()));
+      Assert.assertSame(card, CardSet.toCard(CardSet.bit(card)));
+    }
+  }
+
+  @Test
+  public void testSetOperations() {
+    final Card aceOfSpades = Card.of(14, Suit.SPADES);
+    final Card twoOfClubs = Card.of(2, Suit.CLUBS);
+    final long hole = CardSet.union(CardSet.of(aceOfSpades), CardSet.of(twoOfClubs));
+    Assert.assertEquals(2, CardSet.size(hole));
+    Assert.assertTrue(CardSet.contains(hole, aceOfSpades));
+    Assert.assertFalse(CardSet.contains(hole, Card.of(14, Suit.HEARTS)));
+    Assert.assertTrue(CardSet.containsAll(CardSet.DECK, hole));
+    Assert.assertFalse(CardSet.intersects(CardSet.remove(CardSet.DECK, hole), hole));
+    Assert.assertEquals(1 << 12, CardSet.suitMask(hole, Suit.SPADES));
+    Assert.assertEquals(1, CardSet.suitMask(hole, Suit.CLUBS));
+    Assert.assertEquals(0, CardSet.suitMask(hole, Suit.HEARTS));
+    Assert.assertEquals(4, CardSet.size(CardSet.ofValue(9)));
+    Assert.assertEquals(13, CardSet.size(CardSet.ofSuit(Suit.DIAMONDS)));
+  }
+}
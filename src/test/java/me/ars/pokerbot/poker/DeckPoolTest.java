@@ -0,0 +1,47 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class DeckPoolTest {
+  private static long dealAll(Deck deck) {
+    long dealt = CardSet.EMPTY;
+    while (deck.remaining() > 0) {
+      final long card = CardSet.of(deck.deal());
+      Assert.assertFalse(CardSet.intersects(dealt, card));
+      dealt |= card;
+    }
+    return dealt;
+  }
+
+  @Test
+  public void testTakesShuffledDecks() throws InterruptedException {
+    try (DeckPool pool = new DeckPool(4, new Random(23))) {
+      final long deadline = System.currentTimeMillis() + 10000;
+      while (pool.getDepth() < 4 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(1);
+      }
+      Assert.assertEquals(4, pool.getDepth());
+      final Deck deck = new Deck();
+      pool.take(deck, Ranking.STANDARD, new Random(0));
+      Assert.assertEquals(0, pool.getFallbacks());
+      Assert.assertEquals(CardSet.DECK, dealAll(deck));
+      pool.take(deck, Ranking.SHORT_DECK, new Random(0));
+      Assert.assertEquals(Ranking.SHORT_DECK.getCards(), dealAll(deck));
+      Assert.assertEquals(0, pool.getFallbacks());
+    }
+  }
+
+  @Test
+  public void testFallsBackWhenEmpty() {
+    final DeckPool pool = new DeckPool(4, new Random(23), false);
+    Assert.assertEquals(0, pool.getDepth());
+    Assert.assertEquals(4, pool.getCapacity());
+    final Deck deck = new Deck();
+    pool.take(deck, Ranking.STANDARD, new Random(0));
+    Assert.assertEquals(1, pool.getFallbacks());
+    Assert.assertEquals(CardSet.DECK, dealAll(deck));
+  }
+}
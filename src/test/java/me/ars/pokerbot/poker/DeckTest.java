@@ -0,0 +1,165 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+public class DeckTest {
+  @Test
+  public void testDealsEveryCardOnce() {
+    final Deck deck = new Deck();
+    deck.shuffle(new Random(21));
+    long dealt = CardSet.EMPTY;
+    while (deck.remaining() > 0) {
+      final long card = CardSet.of(deck.deal());
+      Assert.assertFalse(CardSet.intersects(dealt, card));
+      dealt |= card;
+    }
+    Assert.assertEquals(CardSet.DECK, dealt);
+  }
+
+  @Test
+  public void testResetToShortDeck() {
+    final Deck deck = new Deck();
+    deck.reset(Ranking.SHORT_DECK);
+    Assert.assertEquals(36, deck.remaining());
+    final Card[] cards = new Card[36];
+    for (int i = 0; i < cards.length; i++) {
+      cards[i] = deck.deal();
+    }
+    Assert.assertArrayEquals(Ranking.SHORT_DECK.getDeck(), cards);
+    deck.reset(Ranking.STANDARD);
+    Assert.assertEquals(52, deck.remaining());
+    Assert.assertSame(Card.getDeck()[0], deck.deal());
+  }
+
+  @Test
+  public void testShuffleOnlyMovesRemainingCards() {
+    final Deck deck = new Deck();
+    final Card first = deck.deal();
+    deck.shuffle(new Random(21));
+    Assert.assertEquals(51, deck.remaining());
+    final Card[] rest = new Card[51];
+    for (int i = 0; i < rest.length; i++) {
+      rest[i] = deck.deal();
+      Assert.assertNotSame(first, rest[i]);
+    }
+    Assert.assertFalse(Arrays.equals(Arrays.copyOfRange(Card.getDeck(), 1, 52), rest));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testDealFromEmptyDeck() {
+    final Deck deck = new Deck();
+    deck.clear();
+    deck.deal();
+  }
+
+  @Test
+  public void testResetAndDealAllocateNothing() {
+    final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+    if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+      return;
+    }
+    final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+    final long thread = Thread.currentThread().getId();
+    final Deck deck = new Deck();
+    final Random random = new Random(21);
+    int sum = 0;
+    for (int round = 0; round < 2; round++) {
+      final long before = threads.getThreadAllocatedBytes(thread);
+      for (int i = 0; i < 10000; i++) {
+        deck.reset(Ranking.STANDARD);
+        deck.shuffle(random);
+        sum += deck.deal().ordinal();
+      }
+      final long allocated = threads.getThreadAllocatedBytes(thread) - before;
+      if (round == 1) {
+        // a little room for the measurement itself
+        Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+      }
+    }
+    Assert.assertTrue(sum > 0);
+  }
+
+  @Test
+  public void testShufflesOnlyTheCardsDealt() {
+    final int[] calls = new int[1];
+    final Random counting = new Random(25) {
+      @Override
+      public int nextInt(int bound) {
+        calls[0]++;
+        return super.nextInt(bound);
+      }
+    };
+    final Deck deck = new Deck();
+    deck.shuffle(counting);
+    for (int i = 0; i < 5; i++) {
+      deck.deal();
+    }
+    Assert.assertEquals(5, calls[0]);
+    while (deck.remaining() > 0) {
+      deck.deal();
+    }
+    Assert.assertEquals(51, calls[0]);
+  }
+
+  /*
+   * @return the chi-squared statistic of the counts against the same expected count in every cell
+   */
+  private static double chiSquared(int[] counts, double expected) {
+    double sum = 0;
+    for (int count : counts) {
+      sum += (count - expected) * (count - expected) / expected;
+    }
+    return sum;
+  }
+
+  @Test
+  public void testEveryCardIsEquallyLikelyEverywhere() {
+    final Random random = new Random(25);
+    final Deck deck = new Deck();
+    final int shuffles = 20000;
+    final int[] counts = new int[52 * 52];
+    for (int n = 0; n < shuffles; n++) {
+      deck.reset(Ranking.STANDARD);
+      deck.shuffle(random);
+      for (int position = 0; position < 52; position++) {
+        counts[position * 52 + deck.deal().ordinal()]++;
+      }
+    }
+    // 51 * 51 degrees of freedom, mean 2601 and standard deviation 72
+    final double statistic = chiSquared(counts, shuffles / 52.0);
+    Assert.assertTrue("Chi-squared " + statistic, statistic < 2601 + 5 * 72);
+  }
+
+  @Test
+  public void testEveryPairOfCardsIsEquallyLikely() {
+    final Random random = new Random(25);
+    final Deck deck = new Deck();
+    final int deals = 200000;
+    final int[] counts = new int[52 * 52];
+    for (int n = 0; n < deals; n++) {
+      deck.reset(Ranking.STANDARD);
+      deck.shuffle(random);
+      counts[deck.deal().ordinal() * 52 + deck.deal().ordinal()]++;
+    }
+    // only the 52 * 51 cells of two different cards can be dealt
+    final int[] pairs = new int[52 * 51];
+    int i = 0;
+    for (int first = 0; first < 52; first++) {
+      for (int second = 0; second < 52; second++) {
+        if (first != second) {
+          pairs[i++] = counts[first * 52 + second];
+        } else {
+          Assert.assertEquals(0, counts[first * 52 + second]);
+        }
+      }
+    }
+    // 2651 degrees of freedom, mean 2651 and standard deviation 73
+    final double statistic = chiSquared(pairs, deals / (52.0 * 51));
+    Assert.assertTrue("Chi-squared " + statistic, statistic < 2651 + 5 * 73);
+  }
+}
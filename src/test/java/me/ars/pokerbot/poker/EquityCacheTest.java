@@ -0,0 +1,68 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.ars.pokerbot.poker.Card.Suit;
+
+public class EquityCacheTest {
+  private final long hearts = CardSet.of(Card.of(14, Suit.HEARTS), Card.of(13, Suit.HEARTS));
+  private final long spades = CardSet.of(Card.of(14, Suit.SPADES), Card.of(13, Suit.SPADES));
+  private final long heartsFlop = CardSet.of(Card.of(2, Suit.HEARTS), Card.of(7, Suit.CLUBS), Card.of(9, Suit.HEARTS));
+  private final long spadesFlop = CardSet.of(Card.of(2, Suit.SPADES), Card.of(7, Suit.DIAMONDS), Card.of(9, Suit.SPADES));
+  private final Equity equity = new Equity(1, 1, new double[] {1}, new double[] {0}, new double[] {1}, true, 0);
+
+  @Test
+  public void testSuitPermutationsShareEntries() {
+    final EquityCache cache = new EquityCache(1 << 20);
+    Assert.assertNull(cache.get(hearts, 2, heartsFlop));
+    cache.put(hearts, 2, heartsFlop, equity);
+    Assert.assertSame(equity, cache.get(spades, 2, spadesFlop));
+    Assert.assertNull(cache.get(spades, 2, heartsFlop));
+    Assert.assertNull(cache.get(spades, 3, spadesFlop));
+    Assert.assertNull(cache.get(spades, 2, CardSet.EMPTY));
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(4, cache.getMisses());
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() {
+    final EquityCache cache = new EquityCache(64 * EquityCache.ENTRY_BYTES);
+    Assert.assertEquals(64, cache.getMaxEntries());
+    cache.put(hearts, 1, CardSet.EMPTY, equity);
+    final Card[] deck = Card.getDeck();
+    int puts = 1;
+    for (int i = 0; i < deck.length; i++) {
+      for (int j = i + 1; j < deck.length; j++) {
+        cache.put(CardSet.of(deck[i], deck[j]), 1, CardSet.EMPTY, equity);
+        puts++;
+        // a hand stays for as long as it keeps being asked for
+        Assert.assertSame(equity, cache.get(hearts, 1, CardSet.EMPTY));
+      }
+    }
+    Assert.assertTrue(cache.size() <= 64);
+    Assert.assertTrue(cache.getEvictions() > 0);
+    Assert.assertTrue(cache.getEvictions() < puts);
+  }
+
+  @Test
+  public void testKeepsMorePreciseEntry() {
+    final EquityCache cache = new EquityCache(1 << 20);
+    final Equity rough = new Equity(100, 100, new double[] {80}, new double[] {0}, new double[] {80}, false, 0.08);
+    final Equity precise = new Equity(100000, 100000, new double[] {85000}, new double[] {0},
+        new double[] {85000}, false, 0.002);
+    cache.put(hearts, 1, CardSet.EMPTY, rough);
+    cache.put(hearts, 1, CardSet.EMPTY, precise);
+    Assert.assertSame(precise, cache.get(hearts, 1, CardSet.EMPTY));
+    cache.put(hearts, 1, CardSet.EMPTY, rough);
+    Assert.assertSame(precise, cache.get(hearts, 1, CardSet.EMPTY));
+  }
+
+  @Test
+  public void testNothingCached() {
+    final EquityCache cache = new EquityCache(0);
+    cache.put(hearts, 1, CardSet.EMPTY, equity);
+    Assert.assertNull(cache.get(hearts, 1, CardSet.EMPTY));
+    Assert.assertEquals(0, cache.size());
+  }
+}
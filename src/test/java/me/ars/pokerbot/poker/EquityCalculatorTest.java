@@ -0,0 +1,139 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.ars.pokerbot.poker.Card.Suit;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+public class EquityCalculatorTest {
+  private final EquityCalculator calculator =
+      new EquityCalculator(ForkJoinPool.commonPool(), 0.002, 10, TimeUnit.SECONDS);
+
+  @Test
+  public void testAcesAgainstKings() {
+    final long aces = CardSet.of(Card.of(14, Suit.HEARTS), Card.of(14, Suit.SPADES));
+    final long kings = CardSet.of(Card.of(13, Suit.DIAMONDS), Card.of(13, Suit.CLUBS));
+    final Equity equity = calculator.calculate(new long[] {aces, kings}, CardSet.EMPTY, CardSet.EMPTY);
+    Assert.assertFalse(equity.isExact());
+    Assert.assertEquals(0.813, equity.getEquity(0), 0.01);
+    Assert.assertEquals(1, equity.getEquity(0) + equity.getEquity(1), 1e-9);
+    Assert.assertEquals(1, equity.getWin(0) + equity.getWin(1) + equity.getTie(0), 1e-9);
+  }
+
+  @Test
+  public void testFlopMatchesEnumeration() {
+    final long[] holeCards = {CardSet.of(Card.of(14, Suit.HEARTS), Card.of(10, Suit.HEARTS)),
+        CardSet.of(Card.of(9, Suit.CLUBS), Card.of(9, Suit.DIAMONDS)),
+        CardSet.of(Card.of(12, Suit.SPADES), Card.of(11, Suit.SPADES))};
+    final long board = CardSet.of(Card.of(9, Suit.HEARTS), Card.of(8, Suit.HEARTS), Card.of(2, Suit.SPADES));
+    final Equity equity = calculator.calculate(holeCards, board, CardSet.EMPTY);
+
+    final double[] shares = new double[holeCards.length];
+    final long deck = EquityCalculator.remainingDeck(holeCards, board, CardSet.EMPTY);
+    int runouts = 0;
+    for (long turns = deck; turns != 0; turns &= turns - 1) {
+      for (long rivers = turns & (turns - 1); rivers != 0; rivers &= rivers - 1) {
+        final long fullBoard = board | Long.lowestOneBit(turns) | Long.lowestOneBit(rivers);
+        final int[] ranks = new int[holeCards.length];
+        int best = 0;
+        for (int hand = 0; hand < holeCards.length; hand++) {
+          ranks[hand] = HandEvaluator.evaluate(fullBoard | holeCards[hand]);
+          best = Math.max(best, ranks[hand]);
+        }
+        int winners = 0;
+        for (int rank : ranks) {
+          winners += rank == best ? 1 : 0;
+        }
+        for (int hand = 0; hand < holeCards.length; hand++) {
+          shares[hand] += ranks[hand] == best ? 1.0 / winners : 0;
+        }
+        runouts++;
+      }
+    }
+    Assert.assertEquals(43 * 42 / 2, runouts);
+    final Equity exact = EquityCalculator.enumerate(holeCards, board, CardSet.EMPTY);
+    Assert.assertTrue(exact.isExact());
+    Assert.assertEquals(runouts, exact.getRunouts());
+    for (int hand = 0; hand < holeCards.length; hand++) {
+      Assert.assertEquals(shares[hand] / runouts, exact.getEquity(hand), 1e-9);
+      Assert.assertEquals(shares[hand] / runouts, equity.getEquity(hand), 0.01);
+    }
+  }
+
+  @Test
+  public void testCompleteBoard() {
+    final long board = CardSet.of(Card.of(2, Suit.HEARTS), Card.of(2, Suit.CLUBS), Card.of(7, Suit.SPADES),
+        Card.of(7, Suit.HEARTS), Card.of(13, Suit.DIAMONDS));
+    final long[] holeCards = {CardSet.of(Card.of(3, Suit.HEARTS), Card.of(4, Suit.HEARTS)),
+        CardSet.of(Card.of(3, Suit.CLUBS), Card.of(4, Suit.CLUBS)),
+        CardSet.of(Card.of(13, Suit.CLUBS), Card.of(4, Suit.SPADES))};
+    final Equity equity = calculator.calculate(holeCards, board, CardSet.EMPTY);
+    Assert.assertTrue(equity.isExact());
+    Assert.assertEquals(1, equity.getRunouts());
+    Assert.assertEquals(0, equity.getEquity(0), 0);
+    Assert.assertEquals(1, equity.getWin(2), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSharedCards() {
+    final long hand = CardSet.of(Card.of(3, Suit.HEARTS), Card.of(4, Suit.HEARTS));
+    calculator.calculate(new long[] {hand, hand}, CardSet.EMPTY, CardSet.EMPTY);
+  }
+
+  @Test
+  public void testRangeEnumerationWeighsHands() {
+    final long board = CardSet.of(Card.of(2, Suit.HEARTS), Card.of(9, Suit.CLUBS), Card.of(13, Suit.SPADES),
+        Card.of(12, Suit.HEARTS));
+    final Range[] ranges = {Range.parse("AA, KK:0.5"), Range.parse("QQ, AKs")};
+    final Equity equity = EquityCalculator.enumerate(ranges, board, CardSet.EMPTY);
+    Assert.assertTrue(equity.isExact());
+
+    double shares = 0;
+    double total = 0;
+    final Range range = ranges[0].remove(board);
+    final Range other = ranges[1].remove(board);
+    for (int i = 0; i < range.size(); i++) {
+      for (int j = 0; j < other.size(); j++) {
+        final long[] holeCards = {range.getCombination(i), other.getCombination(j)};
+        if (!CardSet.intersects(holeCards[0], holeCards[1])) {
+          final double weight = range.getWeight(i) * other.getWeight(j);
+          shares += weight * EquityCalculator.enumerate(holeCards, board, CardSet.EMPTY).getEquity(0);
+          total += weight;
+        }
+      }
+    }
+    Assert.assertEquals(shares / total, equity.getEquity(0), 1e-9);
+    Assert.assertEquals(1, equity.getEquity(0) + equity.getEquity(1), 1e-9);
+  }
+
+  @Test
+  public void testRangeSamplingMatchesEnumeration() {
+    final long board = CardSet.of(Card.of(10, Suit.HEARTS), Card.of(6, Suit.HEARTS), Card.of(13, Suit.CLUBS));
+    final Range[] ranges = {Range.parse("22+, A2s+, KTo+"), Range.parse("AhKd")};
+    final Equity exact = EquityCalculator.enumerate(ranges, board, CardSet.EMPTY);
+    final Equity equity = calculator.calculate(ranges, board, CardSet.EMPTY);
+    Assert.assertFalse(equity.isExact());
+    Assert.assertEquals(exact.getEquity(0), equity.getEquity(0), 0.01);
+    Assert.assertEquals(exact.getTie(0), equity.getTie(0), 0.01);
+  }
+
+  @Test
+  public void testRangeCardRemoval() {
+    final Range[] ranges = {Range.parse("AhAd"), Range.parse("AA")};
+    final Equity equity = EquityCalculator.enumerate(ranges, CardSet.of(Card.of(2, Suit.CLUBS),
+        Card.of(9, Suit.SPADES), Card.of(13, Suit.SPADES)), CardSet.EMPTY);
+    // only the black aces are left, and they can only tie or win with two more spades
+    Assert.assertEquals(45 * 44 / 2, equity.getRunouts());
+    Assert.assertEquals(0, equity.getWin(0), 0);
+    Assert.assertEquals(45.0 / 990, equity.getWin(1), 1e-9);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRangesThatCannotBeHeldTogether() {
+    calculator.calculate(new Range[] {Range.parse("AhAd"), Range.parse("AhAd, AhKh")},
+        CardSet.of(Card.of(13, Suit.HEARTS)), CardSet.EMPTY);
+  }
+}
@@ -0,0 +1,119 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.ars.pokerbot.poker.Card.Suit;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class EquityServiceTest {
+  private final long aces = CardSet.of(Card.of(14, Suit.HEARTS), Card.of(14, Suit.SPADES));
+  private EquityService service;
+
+  @After
+  public void after() {
+    service.shutdown();
+  }
+
+  @Test
+  public void testAnswersWithinBudget() throws InterruptedException {
+    service = new EquityService(2, 4, 200, TimeUnit.MILLISECONDS);
+    final CountDownLatch answered = new CountDownLatch(1);
+    final AtomicReference<Equity> result = new AtomicReference<>();
+    final long start = System.nanoTime();
+    Assert.assertTrue(service.submit(aces, 1, CardSet.EMPTY, equity -> {
+      result.set(equity);
+      answered.countDown();
+    }));
+    Assert.assertTrue("Answer took too long", answered.await(1, TimeUnit.SECONDS));
+    Assert.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(1000));
+    Assert.assertEquals(1, result.get().getHands());
+    // aces against a random hand
+    Assert.assertEquals(0.852, result.get().getEquity(0), 0.01);
+  }
+
+  @Test
+  public void testAnswersEveryRequestWithinBudgetUnderLoad() throws InterruptedException {
+    final int maxPending = 32;
+    service = new EquityService(1, maxPending, 50, TimeUnit.MILLISECONDS);
+    final long flop = CardSet.of(Card.of(2, Suit.CLUBS), Card.of(7, Suit.DIAMONDS), Card.of(11, Suit.HEARTS));
+    final CountDownLatch answered = new CountDownLatch(maxPending);
+    final AtomicLong slowest = new AtomicLong();
+    for (int i = 0; i < maxPending; i++) {
+      final long start = System.nanoTime();
+      Assert.assertTrue(service.submit(aces, 3, flop, equity -> {
+        slowest.accumulateAndGet(System.nanoTime() - start, Math::max);
+        answered.countDown();
+      }));
+    }
+    Assert.assertTrue(answered.await(1, TimeUnit.SECONDS));
+    // loose enough for a busy machine, only answers that wait for all those before them are too late
+    Assert.assertTrue("Slowest answer took " + TimeUnit.NANOSECONDS.toMillis(slowest.get()) + " ms",
+        slowest.get() < TimeUnit.MILLISECONDS.toNanos(5 * 50));
+  }
+
+  @Test
+  public void testSharesTheTimeLeftWithQueuedRequests() {
+    service = new EquityService(1, 1, 50, TimeUnit.MILLISECONDS);
+    Assert.assertEquals(32_000, EquityService.share(0, 32_000, 0, 1));
+    // each of 32 requests on one thread gets a 32nd
+    Assert.assertEquals(1_000, EquityService.share(0, 32_000, 31, 1));
+    // and on 4 threads, each takes turns with 7 others
+    Assert.assertEquals(4_000, EquityService.share(0, 32_000, 31, 4));
+    Assert.assertEquals(1_000 + 15_500, EquityService.share(1_000, 32_000, 1, 1));
+    // past the deadline, a request stops at once
+    Assert.assertEquals(40_000, EquityService.share(40_000, 32_000, 3, 1));
+  }
+
+  @Test
+  public void testTurnsDownRequestsWhenBusy() throws InterruptedException {
+    service = new EquityService(1, 1, 300, TimeUnit.MILLISECONDS);
+    final CountDownLatch answered = new CountDownLatch(1);
+    Assert.assertTrue(service.submit(aces, 3, CardSet.EMPTY, equity -> answered.countDown()));
+    Assert.assertFalse(service.submit(aces, 3, CardSet.EMPTY, equity -> Assert.fail()));
+    Assert.assertTrue(answered.await(2, TimeUnit.SECONDS));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyHands() {
+    service = new EquityService(1, 1, 50, TimeUnit.MILLISECONDS);
+    service.submit(aces, 24, CardSet.EMPTY, equity -> Assert.fail());
+  }
+
+  @Test
+  public void testAnswersRepeatedRequestsFromCache() throws InterruptedException {
+    service = new EquityService(1, 4, 50, TimeUnit.MILLISECONDS, new EquityCache(1 << 20));
+    final CountDownLatch answered = new CountDownLatch(1);
+    final AtomicReference<Equity> result = new AtomicReference<>();
+    Assert.assertTrue(service.submit(aces, 1, CardSet.EMPTY, equity -> {
+      result.set(equity);
+      answered.countDown();
+    }));
+    Assert.assertTrue(answered.await(1, TimeUnit.SECONDS));
+    final long clubsAndDiamonds = CardSet.of(Card.of(14, Suit.CLUBS), Card.of(14, Suit.DIAMONDS));
+    final AtomicReference<Equity> cached = new AtomicReference<>();
+    Assert.assertTrue(service.submit(clubsAndDiamonds, 1, CardSet.EMPTY, cached::set));
+    Assert.assertSame(result.get(), cached.get());
+    Assert.assertEquals(1, service.getCache().getHits());
+  }
+
+  @Test
+  public void testDoesNotCacheRoughAnswers() throws InterruptedException {
+    service = new EquityService(1, 4, 1, TimeUnit.MILLISECONDS, new EquityCache(1 << 20));
+    final long flop = CardSet.of(Card.of(2, Suit.CLUBS), Card.of(7, Suit.DIAMONDS), Card.of(11, Suit.HEARTS));
+    final CountDownLatch answered = new CountDownLatch(1);
+    final AtomicReference<Equity> result = new AtomicReference<>();
+    Assert.assertTrue(service.submit(aces, 3, flop, equity -> {
+      result.set(equity);
+      answered.countDown();
+    }));
+    Assert.assertTrue(answered.await(1, TimeUnit.SECONDS));
+    Assert.assertTrue(result.get().getError() > EquityService.MAX_CACHED_ERROR);
+    Assert.assertEquals(0, service.getCache().size());
+  }
+}
@@ -0,0 +1,142 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import me.ars.pokerbot.poker.Card.Suit;
+import me.ars.pokerbot.poker.Hand.HandType;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class HandEvaluatorTest {
+
+  @Test
+  public void testHandTypes() {
+    Assert.assertEquals(HandType.HIGH_CARD, type(Card.of(2, Suit.HEARTS), Card.of(5, Suit.CLUBS),
+        Card.of(9, Suit.SPADES), Card.of(11, Suit.HEARTS), Card.of(13, Suit.DIAMONDS)));
+    Assert.assertEquals(HandType.ONE_PAIR, type(Card.of(2, Suit.HEARTS), Card.of(2, Suit.CLUBS),
+        Card.of(9, Suit.SPADES), Card.of(11, Suit.HEARTS), Card.of(13, Suit.DIAMONDS)));
+    Assert.assertEquals(HandType.TWO_PAIR, type(Card.of(2, Suit.HEARTS), Card.of(2, Suit.CLUBS),
+        Card.of(9, Suit.SPADES), Card.of(9, Suit.HEARTS), Card.of(13, Suit.DIAMONDS)));
+    Assert.assertEquals(HandType.THREE_OF_KIND, type(Card.of(2, Suit.HEARTS), Card.of(2, Suit.CLUBS),
+        Card.of(2, Suit.SPADES), Card.of(9, Suit.HEARTS), Card.of(13, Suit.DIAMONDS)));
+    Assert.assertEquals(HandType.STRAIGHT, type(Card.of(14, Suit.HEARTS), Card.of(2, Suit.CLUBS),
+        Card.of(3, Suit.SPADES), Card.of(4, Suit.HEARTS), Card.of(5, Suit.DIAMONDS)));
+    Assert.assertEquals(HandType.FLUSH, type(Card.of(2, Suit.HEARTS), Card.of(5, Suit.HEARTS),
+        Card.of(9, Suit.HEARTS), Card.of(11, Suit.HEARTS), Card.of(13, Suit.HEARTS)));
+    Assert.assertEquals(HandType.FULL_HOUSE, type(Card.of(2, Suit.HEARTS), Card.of(2, Suit.CLUBS),
+        Card.of(2, Suit.SPADES), Card.of(13, Suit.HEARTS), Card.of(13, Suit.DIAMONDS)));
+    Assert.assertEquals(HandType.FOUR_OF_KIND, type(Card.of(2, Suit.HEARTS), Card.of(2, Suit.CLUBS),
+        Card.of(2, Suit.SPADES), Card.of(2, Suit.DIAMONDS), Card.of(13, Suit.DIAMONDS)));
+    Assert.assertEquals(HandType.STRAIGHT_FLUSH, type(Card.of(14, Suit.CLUBS), Card.of(2, Suit.CLUBS),
+        Card.of(3, Suit.CLUBS), Card.of(4, Suit.CLUBS), Card.of(5, Suit.CLUBS)));
+  }
+
+  @Test
+  public void testWheelIsLowestStraight() {
+    final int wheel = HandEvaluator.evaluate(Card.of(14, Suit.HEARTS), Card.of(2, Suit.CLUBS),
+        Card.of(3, Suit.SPADES), Card.of(4, Suit.HEARTS), Card.of(5, Suit.DIAMONDS),
+        Card.of(13, Suit.CLUBS), Card.of(13, Suit.HEARTS));
+    final int sixHigh = HandEvaluator.evaluate(Card.of(6, Suit.HEARTS), Card.of(2, Suit.CLUBS),
+        Card.of(3, Suit.SPADES), Card.of(4, Suit.HEARTS), Card.of(5, Suit.DIAMONDS),
+        Card.of(13, Suit.CLUBS), Card.of(13, Suit.HEARTS));
+    Assert.assertEquals(HandType.STRAIGHT, HandEvaluator.getHandType(wheel));
+    Assert.assertTrue("A six high straight beats the wheel", sixHigh > wheel);
+  }
+
+  @Test
+  public void testKickers() {
+    final Card[] board = {Card.of(14, Suit.HEARTS), Card.of(14, Suit.CLUBS), Card.of(9, Suit.SPADES),
+        Card.of(7, Suit.HEARTS), Card.of(6, Suit.DIAMONDS)};
+    final int kingKicker = HandEvaluator.evaluate(board[0], board[1], board[2], board[3], board[4],
+        Card.of(13, Suit.CLUBS), Card.of(2, Suit.HEARTS));
+    final int queenKicker = HandEvaluator.evaluate(board[0], board[1], board[2], board[3], board[4],
+        Card.of(12, Suit.CLUBS), Card.of(2, Suit.HEARTS));
+    final int boardPlays = HandEvaluator.evaluate(board[0], board[1], board[2], board[3], board[4],
+        Card.of(2, Suit.CLUBS), Card.of(3, Suit.SPADES));
+    final int alsoBoardPlays = HandEvaluator.evaluate(board[0], board[1], board[2], board[3], board[4],
+        Card.of(4, Suit.CLUBS), Card.of(5, Suit.SPADES));
+    Assert.assertTrue(kingKicker > queenKicker);
+    Assert.assertTrue(queenKicker > boardPlays);
+    Assert.assertEquals("Neither hole card plays", boardPlays, alsoBoardPlays);
+  }
+
+  @Test
+  public void testBestFlushCards() {
+    final int sevenHearts = HandEvaluator.evaluate(Card.of(2, Suit.HEARTS), Card.of(4, Suit.HEARTS),
+        Card.of(6, Suit.HEARTS), Card.of(8, Suit.HEARTS), Card.of(10, Suit.HEARTS),
+        Card.of(12, Suit.HEARTS), Card.of(14, Suit.HEARTS));
+    final int fiveHearts = HandEvaluator.evaluate(Card.of(6, Suit.HEARTS), Card.of(8, Suit.HEARTS),
+        Card.of(10, Suit.HEARTS), Card.of(12, Suit.HEARTS), Card.of(14, Suit.HEARTS));
+    Assert.assertEquals(HandType.FLUSH, HandEvaluator.getHandType(sevenHearts));
+    Assert.assertEquals(fiveHearts, sevenHearts);
+  }
+
+  @Test
+  public void testFullHouseFromTwoTrips() {
+    final int rank = HandEvaluator.evaluate(Card.of(9, Suit.HEARTS), Card.of(9, Suit.CLUBS),
+        Card.of(9, Suit.SPADES), Card.of(13, Suit.HEARTS), Card.of(13, Suit.CLUBS),
+        Card.of(13, Suit.SPADES), Card.of(2, Suit.DIAMONDS));
+    Assert.assertEquals(HandType.FULL_HOUSE, HandEvaluator.getHandType(rank));
+    Assert.assertEquals(13, HandEvaluator.getValue(rank, 0));
+    Assert.assertEquals(9, HandEvaluator.getValue(rank, 1));
+  }
+
+  @Test
+  public void testEvaluationDoesNotAllocate() {
+    Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+    final Random random = new Random(7);
+    final long[] hands = new long[1000];
+    final Board[] boards = new Board[hands.length];
+    final Card[] holeCards = new Card[2 * hands.length];
+    for (int i = 0; i < hands.length; i++) {
+      // the board and the hole cards of the same seven cards
+      final List<Card> deck = new ArrayList<>(Arrays.asList(Card.getDeck()));
+      Collections.shuffle(deck, random);
+      hands[i] = CardSet.of(deck.subList(0, 7));
+      boards[i] = new Board(CardSet.of(deck.subList(0, 5)));
+      holeCards[2 * i] = deck.get(5);
+      holeCards[2 * i + 1] = deck.get(6);
+    }
+    final int rounds = 1000;
+
+    // once to get everything loaded and compiled
+    Assert.assertEquals(0, evaluateAll(hands, boards, holeCards, rounds));
+
+    final long thread = Thread.currentThread().getId();
+    final long before = threads.getThreadAllocatedBytes(thread);
+    Assert.assertEquals(0, evaluateAll(hands, boards, holeCards, rounds));
+    final long allocated = threads.getThreadAllocatedBytes(thread) - before;
+    // a little room for the measurement itself, 2,000,000 evaluations
+    Assert.assertTrue("Allocated " + allocated + " bytes", allocated < 1024);
+  }
+
+  /*
+   * @return the number of hands the board ranks differently from the evaluator
+   */
+  private static int evaluateAll(long[] hands, Board[] boards, Card[] holeCards, int rounds) {
+    int mismatches = 0;
+    for (int round = 0; round < rounds; round++) {
+      for (int i = 0; i < hands.length; i++) {
+        if (HandEvaluator.evaluate(hands[i]) != boards[i].rank(holeCards[2 * i], holeCards[2 * i + 1])) {
+          mismatches++;
+        }
+      }
+    }
+    return mismatches;
+  }
+
+  private static HandType type(Card... cards) {
+    return HandEvaluator.getHandType(HandEvaluator.evaluate(cards));
+  }
+}
@@ -0,0 +1,84 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class HandIndexerTest {
+
+  @Test
+  public void testSizes() {
+    Assert.assertEquals(169, HandIndexer.PREFLOP.size());
+    Assert.assertEquals(1286792, HandIndexer.FLOP.size());
+    Assert.assertEquals(1, new HandIndexer(0).size());
+  }
+
+  @Test
+  public void testPreflopRoundTrip() {
+    final boolean[] seen = new boolean[169];
+    final Card[] deck = Card.getDeck();
+    for (int i = 0; i < deck.length; i++) {
+      for (int j = i + 1; j < deck.length; j++) {
+        seen[(int) HandIndexer.PREFLOP.index(CardSet.of(deck[i], deck[j]))] = true;
+      }
+    }
+    final long[] rounds = new long[1];
+    for (int index = 0; index < 169; index++) {
+      Assert.assertTrue(seen[index]);
+      HandIndexer.PREFLOP.unindex(index, rounds);
+      Assert.assertEquals(index, HandIndexer.PREFLOP.index(rounds));
+    }
+  }
+
+  @Test
+  public void testFlopRoundTrip() {
+    final long[] rounds = new long[2];
+    for (long index = 0; index < HandIndexer.FLOP.size(); index += 7) {
+      HandIndexer.FLOP.unindex(index, rounds);
+      Assert.assertEquals(2, CardSet.size(rounds[0]));
+      Assert.assertEquals(3, CardSet.size(rounds[1]));
+      Assert.assertEquals(index, HandIndexer.FLOP.index(rounds));
+    }
+  }
+
+  @Test
+  public void testSuitPermutationsShareIndex() {
+    final Random random = new Random(42);
+    final HandIndexer[] indexers = {HandIndexer.FLOP, HandIndexer.TURN, HandIndexer.RIVER};
+    final List<Integer> suits = new ArrayList<>(Arrays.asList(0, 1, 2, 3));
+    for (int i = 0; i < 2000; i++) {
+      final HandIndexer indexer = indexers[i % indexers.length];
+      final List<Card> deck = new ArrayList<>(Arrays.asList(Card.getDeck()));
+      Collections.shuffle(deck, random);
+      Collections.shuffle(suits, random);
+      final long hole = CardSet.of(deck.subList(0, 2));
+      final long board = CardSet.of(deck.subList(2, 5 + i % indexers.length));
+      final long index = indexer.index(hole, board);
+      Assert.assertTrue(index < indexer.size());
+      Assert.assertEquals(index, indexer.index(permute(hole, suits), permute(board, suits)));
+
+      final long[] canonical = new long[2];
+      indexer.unindex(index, canonical);
+      Assert.assertEquals(index, indexer.index(canonical));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOverlappingRounds() {
+    final long hole = CardSet.of(Card.of(2, Card.Suit.HEARTS), Card.of(3, Card.Suit.HEARTS));
+    HandIndexer.FLOP.index(hole, hole | CardSet.of(Card.of(4, Card.Suit.HEARTS)));
+  }
+
+  private static long permute(long cards, List<Integer> suits) {
+    long permuted = CardSet.EMPTY;
+    for (int suit = 0; suit < 4; suit++) {
+      permuted |= (cards >>> (suit << 4) & 0x1fff) << (suits.get(suit) << 4);
+    }
+    return permuted;
+  }
+}
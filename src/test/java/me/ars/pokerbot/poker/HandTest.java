@@ -15,188 +15,201 @@ public class HandTest {
 
   @Test
   public void testHighCard() {
-    final Card card1 = new Card(7, Suit.HEARTS);
-    final Card card2 = new Card(9, Suit.CLUBS);
-    final Card card3 = new Card(3, Suit.DIAMONDS);
-    final Card card4 = new Card(5, Suit.SPADES);
-    final Card card5 = new Card(13, Suit.HEARTS);
+    final Card card1 = Card.of(7, Suit.HEARTS);
+    final Card card2 = Card.of(9, Suit.CLUBS);
+    final Card card3 = Card.of(3, Suit.DIAMONDS);
+    final Card card4 = Card.of(5, Suit.SPADES);
+    final Card card5 = Card.of(13, Suit.HEARTS);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5);
     Assert.assertEquals(HandType.HIGH_CARD, hand.getHandType());
   }
 
   @Test
   public void testFourOfAKind() {
-    final Card card1 = new Card(7, Suit.HEARTS);
-    final Card card2 = new Card(7, Suit.CLUBS);
-    final Card card3 = new Card(7, Suit.DIAMONDS);
-    final Card card4 = new Card(7, Suit.SPADES);
-    final Card card5 = new Card(11, Suit.HEARTS);
+    final Card card1 = Card.of(7, Suit.HEARTS);
+    final Card card2 = Card.of(7, Suit.CLUBS);
+    final Card card3 = Card.of(7, Suit.DIAMONDS);
+    final Card card4 = Card.of(7, Suit.SPADES);
+    final Card card5 = Card.of(11, Suit.HEARTS);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5);
     Assert.assertEquals(HandType.FOUR_OF_KIND, hand.getHandType());
   }
 
   @Test
   public void testStraightFlush() {
-    final Card card1 = new Card(7, Suit.HEARTS);
-    final Card card2 = new Card(8, Suit.HEARTS);
-    final Card card3 = new Card(9, Suit.HEARTS);
-    final Card card4 = new Card(10, Suit.HEARTS);
-    final Card card5 = new Card(11, Suit.HEARTS);
+    final Card card1 = Card.of(7, Suit.HEARTS);
+    final Card card2 = Card.of(8, Suit.HEARTS);
+    final Card card3 = Card.of(9, Suit.HEARTS);
+    final Card card4 = Card.of(10, Suit.HEARTS);
+    final Card card5 = Card.of(11, Suit.HEARTS);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5);
     Assert.assertEquals(HandType.STRAIGHT_FLUSH, hand.getHandType());
   }
 
   @Test
   public void testFullHouse() {
-    final Card card1 = new Card(10, Suit.HEARTS);
-    final Card card2 = new Card(10, Suit.SPADES);
-    final Card card3 = new Card(10, Suit.CLUBS);
-    final Card card4 = new Card(7, Suit.HEARTS);
-    final Card card5 = new Card(7, Suit.SPADES);
+    final Card card1 = Card.of(10, Suit.HEARTS);
+    final Card card2 = Card.of(10, Suit.SPADES);
+    final Card card3 = Card.of(10, Suit.CLUBS);
+    final Card card4 = Card.of(7, Suit.HEARTS);
+    final Card card5 = Card.of(7, Suit.SPADES);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5);
     Assert.assertEquals(HandType.FULL_HOUSE, hand.getHandType());
   }
 
   @Test
   public void testBigFullHouse() {
-    final Card card1 = new Card(14, Suit.HEARTS);
-    final Card card2 = new Card(14, Suit.SPADES);
-    final Card card3 = new Card(14, Suit.CLUBS);
-    final Card card4 = new Card(13, Suit.HEARTS);
-    final Card card5 = new Card(13, Suit.SPADES);
-    final Card card6 = new Card(13, Suit.DIAMONDS);
-    final Card card7 = new Card(6, Suit.SPADES);
+    final Card card1 = Card.of(14, Suit.HEARTS);
+    final Card card2 = Card.of(14, Suit.SPADES);
+    final Card card3 = Card.of(14, Suit.CLUBS);
+    final Card card4 = Card.of(13, Suit.HEARTS);
+    final Card card5 = Card.of(13, Suit.SPADES);
+    final Card card6 = Card.of(13, Suit.DIAMONDS);
+    final Card card7 = Card.of(6, Suit.SPADES);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5,card6,card7);
     Assert.assertEquals(HandType.FULL_HOUSE, hand.getHandType());
   }
 
   @Test
   public void testFullHouseWithAces() {
-    final Card card1 = new Card(14, Suit.HEARTS);
-    final Card card2 = new Card(14, Suit.SPADES);
-    final Card card3 = new Card(14, Suit.CLUBS);
-    final Card card4 = new Card(7, Suit.HEARTS);
-    final Card card5 = new Card(7, Suit.SPADES);
+    final Card card1 = Card.of(14, Suit.HEARTS);
+    final Card card2 = Card.of(14, Suit.SPADES);
+    final Card card3 = Card.of(14, Suit.CLUBS);
+    final Card card4 = Card.of(7, Suit.HEARTS);
+    final Card card5 = Card.of(7, Suit.SPADES);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5);
     Assert.assertEquals(HandType.FULL_HOUSE, hand.getHandType());
   }
 
   @Test
   public void testOnePair() {
-    final Card card1 = new Card(10, Suit.HEARTS);
-    final Card card2 = new Card(10, Suit.SPADES);
-    final Card card3 = new Card(12, Suit.CLUBS);
-    final Card card4 = new Card(5, Suit.HEARTS);
-    final Card card5 = new Card(7, Suit.HEARTS);
+    final Card card1 = Card.of(10, Suit.HEARTS);
+    final Card card2 = Card.of(10, Suit.SPADES);
+    final Card card3 = Card.of(12, Suit.CLUBS);
+    final Card card4 = Card.of(5, Suit.HEARTS);
+    final Card card5 = Card.of(7, Suit.HEARTS);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5);
     Assert.assertEquals(HandType.ONE_PAIR, hand.getHandType());
   }
 
   @Test
   public void testTwoPair() {
-    final Card card1 = new Card(10, Suit.HEARTS);
-    final Card card2 = new Card(10, Suit.SPADES);
-    final Card card3 = new Card(12, Suit.CLUBS);
-    final Card card4 = new Card(12, Suit.HEARTS);
-    final Card card5 = new Card(7, Suit.HEARTS);
+    final Card card1 = Card.of(10, Suit.HEARTS);
+    final Card card2 = Card.of(10, Suit.SPADES);
+    final Card card3 = Card.of(12, Suit.CLUBS);
+    final Card card4 = Card.of(12, Suit.HEARTS);
+    final Card card5 = Card.of(7, Suit.HEARTS);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5);
     Assert.assertEquals(HandType.TWO_PAIR, hand.getHandType());
   }
 
   @Test
   public void testTwoPairAcesAndKings() {
-    final Card card1 = new Card(14, Suit.HEARTS);
-    final Card card2 = new Card(14, Suit.SPADES);
-    final Card card3 = new Card(13, Suit.CLUBS);
-    final Card card4 = new Card(13, Suit.HEARTS);
-    final Card card5 = new Card(7, Suit.HEARTS);
-    final Card card6 = new Card(2, Suit.SPADES);
-    final Card card7 = new Card(5, Suit.CLUBS);
+    final Card card1 = Card.of(14, Suit.HEARTS);
+    final Card card2 = Card.of(14, Suit.SPADES);
+    final Card card3 = Card.of(13, Suit.CLUBS);
+    final Card card4 = Card.of(13, Suit.HEARTS);
+    final Card card5 = Card.of(7, Suit.HEARTS);
+    final Card card6 = Card.of(2, Suit.SPADES);
+    final Card card7 = Card.of(5, Suit.CLUBS);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5,card6,card7);
     Assert.assertEquals(HandType.TWO_PAIR, hand.getHandType());
   }
 
   @Test
   public void testTwoPairAcesAndTwos() {
-    final Card card1 = new Card(14, Suit.HEARTS);
-    final Card card2 = new Card(14, Suit.SPADES);
-    final Card card3 = new Card(2, Suit.CLUBS);
-    final Card card4 = new Card(2, Suit.HEARTS);
-    final Card card5 = new Card(7, Suit.HEARTS);
-    final Card card6 = new Card(10, Suit.SPADES);
-    final Card card7 = new Card(5, Suit.CLUBS);
+    final Card card1 = Card.of(14, Suit.HEARTS);
+    final Card card2 = Card.of(14, Suit.SPADES);
+    final Card card3 = Card.of(2, Suit.CLUBS);
+    final Card card4 = Card.of(2, Suit.HEARTS);
+    final Card card5 = Card.of(7, Suit.HEARTS);
+    final Card card6 = Card.of(10, Suit.SPADES);
+    final Card card7 = Card.of(5, Suit.CLUBS);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5,card6,card7);
     Assert.assertEquals(HandType.TWO_PAIR, hand.getHandType());
   }
 
   @Test
   public void testThreeOfAKind() {
-    final Card card1 = new Card(10, Suit.HEARTS);
-    final Card card2 = new Card(10, Suit.SPADES);
-    final Card card3 = new Card(10, Suit.CLUBS);
-    final Card card4 = new Card(12, Suit.HEARTS);
-    final Card card5 = new Card(7, Suit.HEARTS);
+    final Card card1 = Card.of(10, Suit.HEARTS);
+    final Card card2 = Card.of(10, Suit.SPADES);
+    final Card card3 = Card.of(10, Suit.CLUBS);
+    final Card card4 = Card.of(12, Suit.HEARTS);
+    final Card card5 = Card.of(7, Suit.HEARTS);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5);
     Assert.assertEquals(HandType.THREE_OF_KIND, hand.getHandType());
   }
 
   @Test
   public void testFlush() {
-    final Card card1 = new Card(10, Suit.HEARTS);
-    final Card card2 = new Card(3, Suit.HEARTS);
-    final Card card3 = new Card(9, Suit.HEARTS);
-    final Card card4 = new Card(12, Suit.HEARTS);
-    final Card card5 = new Card(7, Suit.HEARTS);
+    final Card card1 = Card.of(10, Suit.HEARTS);
+    final Card card2 = Card.of(3, Suit.HEARTS);
+    final Card card3 = Card.of(9, Suit.HEARTS);
+    final Card card4 = Card.of(12, Suit.HEARTS);
+    final Card card5 = Card.of(7, Suit.HEARTS);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5);
     Assert.assertEquals(HandType.FLUSH, hand.getHandType());
   }
 
   @Test
   public void testStraight() {
-    final Card card1 = new Card(3, Suit.HEARTS);
-    final Card card2 = new Card(4, Suit.SPADES);
-    final Card card3 = new Card(5, Suit.HEARTS);
-    final Card card4 = new Card(6, Suit.SPADES);
-    final Card card5 = new Card(7, Suit.HEARTS);
+    final Card card1 = Card.of(3, Suit.HEARTS);
+    final Card card2 = Card.of(4, Suit.SPADES);
+    final Card card3 = Card.of(5, Suit.HEARTS);
+    final Card card4 = Card.of(6, Suit.SPADES);
+    final Card card5 = Card.of(7, Suit.HEARTS);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5);
     Assert.assertEquals(HandType.STRAIGHT, hand.getHandType());
   }
 
   @Test
   public void testStraight2() {
-    final Card card1 = new Card(2, Suit.HEARTS);
-    final Card card2 = new Card(4, Suit.CLUBS);
-    final Card card3 = new Card(8, Suit.SPADES);
-    final Card card4 = new Card(9, Suit.SPADES);
-    final Card card5 = new Card(10, Suit.HEARTS);
-    final Card card6 = new Card(11, Suit.SPADES);
-    final Card card7 = new Card(12, Suit.HEARTS);
+    final Card card1 = Card.of(2, Suit.HEARTS);
+    final Card card2 = Card.of(4, Suit.CLUBS);
+    final Card card3 = Card.of(8, Suit.SPADES);
+    final Card card4 = Card.of(9, Suit.SPADES);
+    final Card card5 = Card.of(10, Suit.HEARTS);
+    final Card card6 = Card.of(11, Suit.SPADES);
+    final Card card7 = Card.of(12, Suit.HEARTS);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5,card6,card7);
     Assert.assertEquals(HandType.STRAIGHT, hand.getHandType());
   }
 
   @Test
   public void testLowAceStraight() {
-    final Card card1 = new Card(14, Suit.HEARTS);
-    final Card card2 = new Card(2, Suit.HEARTS);
-    final Card card3 = new Card(3, Suit.SPADES);
-    final Card card4 = new Card(4, Suit.DIAMONDS);
-    final Card card5 = new Card(5, Suit.CLUBS);
-    final Card card6 = new Card(7, Suit.CLUBS);
-    final Card card7 = new Card(8, Suit.SPADES);
+    final Card card1 = Card.of(14, Suit.HEARTS);
+    final Card card2 = Card.of(2, Suit.HEARTS);
+    final Card card3 = Card.of(3, Suit.SPADES);
+    final Card card4 = Card.of(4, Suit.DIAMONDS);
+    final Card card5 = Card.of(5, Suit.CLUBS);
+    final Card card6 = Card.of(7, Suit.CLUBS);
+    final Card card7 = Card.of(8, Suit.SPADES);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5,card6,card7);
     Assert.assertEquals(HandType.STRAIGHT, hand.getHandType());
   }
 
+  @Test
+  public void testLowAceStraightCards() {
+    final Card ace = Card.of(14, Suit.HEARTS);
+    final Card two = Card.of(2, Suit.HEARTS);
+    final Card three = Card.of(3, Suit.SPADES);
+    final Card four = Card.of(4, Suit.DIAMONDS);
+    final Card five = Card.of(5, Suit.CLUBS);
+    final Hand hand = Hand.getBestHand(player, ace, two, three, four, five, Card.of(9, Suit.CLUBS),
+        Card.of(9, Suit.SPADES));
+    Assert.assertEquals(HandType.STRAIGHT, hand.getHandType());
+    Assert.assertArrayEquals(new Card[]{five, four, three, two, ace}, hand.getCards());
+  }
+
   @Test
   public void testHighAceStraight() {
-    final Card card1 = new Card(14, Suit.HEARTS);
-    final Card card2 = new Card(13, Suit.HEARTS);
-    final Card card3 = new Card(12, Suit.SPADES);
-    final Card card4 = new Card(11, Suit.DIAMONDS);
-    final Card card5 = new Card(10, Suit.CLUBS);
-    final Card card6 = new Card(7, Suit.CLUBS);
-    final Card card7 = new Card(8, Suit.SPADES);
+    final Card card1 = Card.of(14, Suit.HEARTS);
+    final Card card2 = Card.of(13, Suit.HEARTS);
+    final Card card3 = Card.of(12, Suit.SPADES);
+    final Card card4 = Card.of(11, Suit.DIAMONDS);
+    final Card card5 = Card.of(10, Suit.CLUBS);
+    final Card card6 = Card.of(7, Suit.CLUBS);
+    final Card card7 = Card.of(8, Suit.SPADES);
     final Hand hand = Hand.getBestHand(player, card1,card2,card3,card4,card5,card6,card7);
     Assert.assertEquals(HandType.STRAIGHT, hand.getHandType());
   }
@@ -217,22 +230,22 @@ public class HandTest {
     1607432240314 ###       at me.ars.pokerbot.poker.Table.check(Table.java:94)
     1607432240314 ###       at me.ars.pokerbot.irc.IrcBot.onMessage(IrcBot.java:179)
     */
-    final Card card1 = new Card(13, Suit.HEARTS);
-    final Card card2 = new Card(12, Suit.HEARTS);
-    final Card card3 = new Card(14, Suit.SPADES);
-    final Card card4 = new Card(11, Suit.DIAMONDS);
-    final Card card5 = new Card(9, Suit.CLUBS);
-    final Card card6 = new Card(5, Suit.CLUBS);
-    final Card card7 = new Card(8, Suit.SPADES);
+    final Card card1 = Card.of(13, Suit.HEARTS);
+    final Card card2 = Card.of(12, Suit.HEARTS);
+    final Card card3 = Card.of(14, Suit.SPADES);
+    final Card card4 = Card.of(11, Suit.DIAMONDS);
+    final Card card5 = Card.of(9, Suit.CLUBS);
+    final Card card6 = Card.of(5, Suit.CLUBS);
+    final Card card7 = Card.of(8, Suit.SPADES);
     final Hand hand = Hand.getBestHand(player, card1, card2, card3, card4, card5, card6, card7);
     Assert.assertEquals(HandType.HIGH_CARD, hand.getHandType());
-    final Card acard1 = new Card(13, Suit.HEARTS);
-    final Card acard2 = new Card(12, Suit.HEARTS);
-    final Card acard3 = new Card(14, Suit.SPADES);
-    final Card acard4 = new Card(11, Suit.DIAMONDS);
-    final Card acard5 = new Card(9, Suit.CLUBS);
-    final Card acard6 = new Card(4, Suit.HEARTS);
-    final Card acard7 = new Card(2, Suit.DIAMONDS);
+    final Card acard1 = Card.of(13, Suit.HEARTS);
+    final Card acard2 = Card.of(12, Suit.HEARTS);
+    final Card acard3 = Card.of(14, Suit.SPADES);
+    final Card acard4 = Card.of(11, Suit.DIAMONDS);
+    final Card acard5 = Card.of(9, Suit.CLUBS);
+    final Card acard6 = Card.of(4, Suit.HEARTS);
+    final Card acard7 = Card.of(2, Suit.DIAMONDS);
     final Hand ahand = Hand.getBestHand(player, acard1, acard2, acard3, acard4, acard5, acard6, acard7);
     Assert.assertEquals(HandType.HIGH_CARD, hand.getHandType());
 
@@ -252,22 +265,22 @@ public class HandTest {
     1607507385572 ###       at me.ars.pokerbot.poker.Table.call(Table.java:73)
     1607507385572 ###       at me.ars.pokerbot.irc.IrcBot.onMessage(IrcBot.java:170)
     */
-    final Card card1 = new Card(2, Suit.DIAMONDS);
-    final Card card2 = new Card(14, Suit.SPADES);
-    final Card card3 = new Card(13, Suit.HEARTS);
-    final Card card4 = new Card(11, Suit.DIAMONDS);
-    final Card card5 = new Card(2, Suit.HEARTS);
-    final Card card6 = new Card(12, Suit.CLUBS);
-    final Card card7 = new Card(13, Suit.CLUBS);
+    final Card card1 = Card.of(2, Suit.DIAMONDS);
+    final Card card2 = Card.of(14, Suit.SPADES);
+    final Card card3 = Card.of(13, Suit.HEARTS);
+    final Card card4 = Card.of(11, Suit.DIAMONDS);
+    final Card card5 = Card.of(2, Suit.HEARTS);
+    final Card card6 = Card.of(12, Suit.CLUBS);
+    final Card card7 = Card.of(13, Suit.CLUBS);
     final Hand hand = Hand.getBestHand(player, card1, card2, card3, card4, card5, card6, card7);
     Assert.assertEquals(HandType.TWO_PAIR, hand.getHandType());
-    final Card acard1 = new Card(2, Suit.DIAMONDS);
-    final Card acard2 = new Card(14, Suit.SPADES);
-    final Card acard3 = new Card(13, Suit.HEARTS);
-    final Card acard4 = new Card(11, Suit.DIAMONDS);
-    final Card acard5 = new Card(2, Suit.HEARTS);
-    final Card acard6 = new Card(7, Suit.SPADES);
-    final Card acard7 = new Card(7, Suit.DIAMONDS);
+    final Card acard1 = Card.of(2, Suit.DIAMONDS);
+    final Card acard2 = Card.of(14, Suit.SPADES);
+    final Card acard3 = Card.of(13, Suit.HEARTS);
+    final Card acard4 = Card.of(11, Suit.DIAMONDS);
+    final Card acard5 = Card.of(2, Suit.HEARTS);
+    final Card acard6 = Card.of(7, Suit.SPADES);
+    final Card acard7 = Card.of(7, Suit.DIAMONDS);
     final Hand ahand = Hand.getBestHand(player, acard1, acard2, acard3, acard4, acard5, acard6, acard7);
     Assert.assertEquals(HandType.TWO_PAIR, hand.getHandType());
 
@@ -277,15 +290,15 @@ public class HandTest {
 
   @Test
   public void testCompareTwoPair() {
-    final Card card1 = new Card(12, Suit.SPADES);
-    final Card card2 = new Card(14, Suit.CLUBS);
-    final Card card3 = new Card(10, Suit.DIAMONDS);
-    final Card card4 = new Card(6, Suit.SPADES);
-    final Card card5 = new Card(6, Suit.DIAMONDS);
-    final Card cardA = new Card(12, Suit.CLUBS);
-    final Card cardB = new Card(10, Suit.HEARTS);
-    final Card cardC = new Card(11, Suit.DIAMONDS);
-    final Card cardD = new Card(12, Suit.DIAMONDS);
+    final Card card1 = Card.of(12, Suit.SPADES);
+    final Card card2 = Card.of(14, Suit.CLUBS);
+    final Card card3 = Card.of(10, Suit.DIAMONDS);
+    final Card card4 = Card.of(6, Suit.SPADES);
+    final Card card5 = Card.of(6, Suit.DIAMONDS);
+    final Card cardA = Card.of(12, Suit.CLUBS);
+    final Card cardB = Card.of(10, Suit.HEARTS);
+    final Card cardC = Card.of(11, Suit.DIAMONDS);
+    final Card cardD = Card.of(12, Suit.DIAMONDS);
     final Hand hand = Hand.getBestHand(player, card1, card2, card3, card4, card5, cardA, cardB);
     Assert.assertEquals(HandType.TWO_PAIR, hand.getHandType());
     final Hand hand2 = Hand.getBestHand(player, card1, card2, card3, card4, card5, cardC, cardD);
@@ -302,15 +315,15 @@ public class HandTest {
     16:15 < Poker> player2 wins with the hand 3♦, Q♥, J♦, 8♥, 2♠ (one pair)!
      */
     final Player player2 = new Player("player2");
-    final Card card1 = new Card(8, Suit.HEARTS);
-    final Card card2 = new Card(12, Suit.DIAMONDS);
-    final Card card3 = new Card(3, Suit.DIAMONDS);
-    final Card card4 = new Card(14, Suit.DIAMONDS);
-    final Card card5 = new Card(11, Suit.DIAMONDS);
-    final Card cardA = new Card(6, Suit.CLUBS);
-    final Card cardB = new Card(2, Suit.HEARTS);
-    final Card cardC = new Card(2, Suit.CLUBS);
-    final Card cardD = new Card(2, Suit.SPADES);
+    final Card card1 = Card.of(8, Suit.HEARTS);
+    final Card card2 = Card.of(12, Suit.DIAMONDS);
+    final Card card3 = Card.of(3, Suit.DIAMONDS);
+    final Card card4 = Card.of(14, Suit.DIAMONDS);
+    final Card card5 = Card.of(11, Suit.DIAMONDS);
+    final Card cardA = Card.of(6, Suit.CLUBS);
+    final Card cardB = Card.of(2, Suit.HEARTS);
+    final Card cardC = Card.of(2, Suit.CLUBS);
+    final Card cardD = Card.of(2, Suit.SPADES);
     final Hand hand = Hand.getBestHand(player, card1, card2, card3, card4, card5, cardA, cardB);
     Assert.assertEquals(HandType.HIGH_CARD, hand.getHandType());
     final Hand hand2 = Hand.getBestHand(player2, card1, card2, card3, card4, card5, cardC, cardD);
@@ -326,6 +339,23 @@ public class HandTest {
     Assert.assertEquals(referenceHand, hand2);
   }
 
+  @Test
+  public void testTiedHandsAreEqual() {
+    final Card[] board = {Card.of(14, Suit.HEARTS), Card.of(13, Suit.SPADES), Card.of(9, Suit.DIAMONDS),
+        Card.of(9, Suit.CLUBS), Card.of(5, Suit.HEARTS)};
+    final Hand hand1 = Hand.getBestHand(player, board[0], board[1], board[2], board[3], board[4],
+        Card.of(2, Suit.CLUBS), Card.of(3, Suit.CLUBS));
+    final Hand hand2 = Hand.getBestHand(new Player("player2"), board[0], board[1], board[2], board[3], board[4],
+        Card.of(2, Suit.HEARTS), Card.of(4, Suit.SPADES));
+    final Hand hand3 = Hand.getBestHand(new Player("player3"), board[0], board[1], board[2], board[3], board[4],
+        Card.of(12, Suit.HEARTS), Card.of(4, Suit.SPADES));
+    Assert.assertEquals(0, hand1.compareTo(hand2));
+    Assert.assertEquals(hand1, hand2);
+    Assert.assertEquals(hand1.hashCode(), hand2.hashCode());
+    Assert.assertTrue(hand3.compareTo(hand1) > 0);
+    Assert.assertNotEquals(hand1, hand3);
+  }
+
   public void smokeTest() {
     final Card[] deck = Card.getDeck();
     final int n = deck.length;
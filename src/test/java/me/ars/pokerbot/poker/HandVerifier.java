@@ -0,0 +1,279 @@
+package me.ars.pokerbot.poker;
+
+import me.ars.pokerbot.poker.Hand.HandType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Checks the production evaluator against a brute force reference for every
+ * seven card hand that can be drawn from a deck. The reference ranks each of
+ * the 21 five card subsets on its own and keeps the best one, sharing no code
+ * with {@link RankTables}. The evaluator is checked with its lookup tables,
+ * which are generated first.
+ * <p>
+ * The work is split by the two lowest cards of the hand and spread over a
+ * fork-join pool. For the whole deck, 133,784,560 hands, run
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=me.ars.pokerbot.poker.HandVerifier
+ * </pre>
+ */
+public class HandVerifier {
+  /*
+   * mismatches kept for the report, the rest are only counted
+   */
+  private static final int MAX_REPORTED = 100;
+
+  private static final int[][] SUBSETS = subsets();
+
+  public static void main(String[] args) {
+    final long start = System.nanoTime();
+    final Result result = verify(CardSet.DECK);
+    final long seconds = (System.nanoTime() - start) / 1_000_000_000L;
+    System.out.println(result.hands + " hands checked in " + seconds + " s on "
+        + ForkJoinPool.commonPool().getParallelism() + " threads, " + result.mismatches + " mismatches");
+    for (String mismatch : result.reported) {
+      System.out.println(mismatch);
+    }
+    if (result.mismatches != 0) {
+      System.exit(1);
+    }
+  }
+
+  /*
+   * @param deck CardSet of the cards to draw every seven card hand from
+   */
+  static Result verify(long deck) {
+    // the tables are generated in the background, and until then the evaluator ranks hands directly
+    HandEvaluator.loadTables(null);
+    while (!HandEvaluator.hasTables()) {
+      Thread.yield();
+    }
+    final int[] bits = new int[CardSet.size(deck)];
+    int i = 0;
+    for (long rest = deck; rest != 0; rest &= rest - 1) {
+      bits[i++] = Long.numberOfTrailingZeros(rest);
+    }
+    final int[] firstCards = new int[bits.length * (bits.length - 1) / 2];
+    final int[] secondCards = new int[firstCards.length];
+    int pair = 0;
+    for (int a = 0; a < bits.length; a++) {
+      for (int b = a + 1; b < bits.length; b++) {
+        firstCards[pair] = a;
+        secondCards[pair] = b;
+        pair++;
+      }
+    }
+    return ForkJoinPool.commonPool().invoke(new Verification(bits, firstCards, secondCards, 0, pair));
+  }
+
+  static final class Result {
+    final long hands;
+    final long mismatches;
+    final List<String> reported;
+
+    Result(long hands, long mismatches, List<String> reported) {
+      this.hands = hands;
+      this.mismatches = mismatches;
+      this.reported = reported;
+    }
+
+    Result merge(Result other) {
+      final List<String> merged = new ArrayList<>(reported);
+      for (String mismatch : other.reported) {
+        if (merged.size() < MAX_REPORTED) {
+          merged.add(mismatch);
+        }
+      }
+      return new Result(hands + other.hands, mismatches + other.mismatches, merged);
+    }
+  }
+
+  /*
+   * Checks every hand whose two lowest cards are one of the pairs from..to,
+   * splitting in halves until a single pair is left
+   */
+  private static final class Verification extends RecursiveTask<Result> {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] bits;
+    private final int[] firstCards;
+    private final int[] secondCards;
+    private final int from;
+    private final int to;
+
+    Verification(int[] bits, int[] firstCards, int[] secondCards, int from, int to) {
+      this.bits = bits;
+      this.firstCards = firstCards;
+      this.secondCards = secondCards;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Result compute() {
+      if (to - from > 1) {
+        final int middle = (from + to) >>> 1;
+        final Verification low = new Verification(bits, firstCards, secondCards, from, middle);
+        final Verification high = new Verification(bits, firstCards, secondCards, middle, to);
+        low.fork();
+        final Result highResult = high.compute();
+        return low.join().merge(highResult);
+      }
+      if (from == to) {
+        return new Result(0, 0, new ArrayList<>());
+      }
+
+      final int n = bits.length;
+      final int b = secondCards[from];
+      final int[] hand = new int[7];
+      hand[0] = bits[firstCards[from]];
+      hand[1] = bits[b];
+      final long prefix = 1L << hand[0] | 1L << hand[1];
+      long hands = 0;
+      long mismatches = 0;
+      final List<String> reported = new ArrayList<>();
+      for (int c = b + 1; c < n; c++) {
+        hand[2] = bits[c];
+        for (int d = c + 1; d < n; d++) {
+          hand[3] = bits[d];
+          for (int e = d + 1; e < n; e++) {
+            hand[4] = bits[e];
+            for (int f = e + 1; f < n; f++) {
+              hand[5] = bits[f];
+              for (int g = f + 1; g < n; g++) {
+                hand[6] = bits[g];
+                final long cards = prefix | 1L << hand[2] | 1L << hand[3] | 1L << hand[4] | 1L << hand[5]
+                    | 1L << hand[6];
+                hands++;
+                final String mismatch = check(cards, hand);
+                if (mismatch != null) {
+                  mismatches++;
+                  if (reported.size() < MAX_REPORTED) {
+                    reported.add(mismatch);
+                  }
+                }
+              }
+            }
+          }
+        }
+      }
+      return new Result(hands, mismatches, reported);
+    }
+  }
+
+  /*
+   * @param hand bit indices of the seven cards in the CardSet
+   * @return a description of the disagreement, or null if there is none
+   */
+  static String check(long cards, int[] hand) {
+    final int expected = referenceRank(hand);
+    final int actual = HandEvaluator.evaluate(cards);
+    if (actual != expected) {
+      return CardSet.toString(cards) + ": evaluated 0x" + Integer.toHexString(actual) + ", reference 0x"
+          + Integer.toHexString(expected);
+    }
+    final Card[] best = Hand.getBestHand(null, cards).getBestHand();
+    final int[] bestBits = new int[best.length];
+    for (int i = 0; i < best.length; i++) {
+      bestBits[i] = CardSet.bit(best[i]);
+    }
+    final int bestRank = referenceRank5(bestBits, 0, 1, 2, 3, 4);
+    if (bestRank != expected || !CardSet.containsAll(cards, CardSet.of(best))) {
+      return CardSet.toString(cards) + ": best hand " + Arrays.toString(best) + " ranks 0x"
+          + Integer.toHexString(bestRank) + ", reference 0x" + Integer.toHexString(expected);
+    }
+    return null;
+  }
+
+  /*
+   * @return the best rank among the 21 five card subsets of the seven cards
+   */
+  static int referenceRank(int[] hand) {
+    int best = -1;
+    for (int[] subset : SUBSETS) {
+      best = Math.max(best, referenceRank5(hand, subset[0], subset[1], subset[2], subset[3], subset[4]));
+    }
+    return best;
+  }
+
+  /*
+   * Ranks five cards the long way: group the values, order the groups by
+   * size and value, and look at what is left.
+   */
+  private static int referenceRank5(int[] hand, int i0, int i1, int i2, int i3, int i4) {
+    final int[] indices = {i0, i1, i2, i3, i4};
+    final int[] counts = new int[15];
+    boolean flush = true;
+    for (int index : indices) {
+      counts[(hand[index] & 0xf) + 2]++;
+      flush &= hand[index] >>> 4 == hand[i0] >>> 4;
+    }
+
+    // distinct values, biggest group first and the highest value first within a group
+    final int[] groups = new int[5];
+    int distinct = 0;
+    for (int size = 4; size >= 1; size--) {
+      for (int value = 14; value >= 2; value--) {
+        if (counts[value] == size) {
+          groups[distinct++] = value;
+        }
+      }
+    }
+
+    int straightTop = 0;
+    if (distinct == 5) {
+      if (groups[0] - groups[4] == 4) {
+        straightTop = groups[0];
+      } else if (groups[0] == 14 && groups[1] == 5) {
+        straightTop = 5;
+      }
+    }
+
+    final HandType type;
+    if (straightTop != 0) {
+      type = flush ? HandType.STRAIGHT_FLUSH : HandType.STRAIGHT;
+    } else if (flush) {
+      type = HandType.FLUSH;
+    } else if (counts[groups[0]] == 4) {
+      type = HandType.FOUR_OF_KIND;
+    } else if (counts[groups[0]] == 3) {
+      type = counts[groups[1]] == 2 ? HandType.FULL_HOUSE : HandType.THREE_OF_KIND;
+    } else if (counts[groups[0]] == 2) {
+      type = counts[groups[1]] == 2 ? HandType.TWO_PAIR : HandType.ONE_PAIR;
+    } else {
+      type = HandType.HIGH_CARD;
+    }
+
+    int rank = type.ordinal();
+    if (straightTop != 0) {
+      return rank << 20 | straightTop << 16;
+    }
+    for (int i = 0; i < 5; i++) {
+      rank = rank << 4 | (i < distinct ? groups[i] : 0);
+    }
+    return rank;
+  }
+
+  private static int[][] subsets() {
+    final int[][] subsets = new int[21][];
+    int i = 0;
+    for (int skip1 = 0; skip1 < 7; skip1++) {
+      for (int skip2 = skip1 + 1; skip2 < 7; skip2++) {
+        final int[] subset = new int[5];
+        int j = 0;
+        for (int card = 0; card < 7; card++) {
+          if (card != skip1 && card != skip2) {
+            subset[j++] = card;
+          }
+        }
+        subsets[i++] = subset;
+      }
+    }
+    return subsets;
+  }
+}
@@ -0,0 +1,33 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HandVerifierTest {
+
+  @Test
+  public void testAgreesOnSmallDeck() {
+    // wheels, six high straights, flushes with up to seven cards and every kind of pair
+    final long deck = CardSet.ofValue(14) | CardSet.ofValue(2) | CardSet.ofValue(3) | CardSet.ofValue(4)
+        | CardSet.ofValue(5) | CardSet.ofValue(6);
+    final HandVerifier.Result result = HandVerifier.verify(deck);
+    Assert.assertEquals(346104, result.hands);
+    Assert.assertEquals(result.reported.toString(), 0, result.mismatches);
+  }
+
+  @Test
+  public void testReportsMismatch() {
+    final Card[] cards = {Card.of(14, Card.Suit.HEARTS), Card.of(2, Card.Suit.HEARTS), Card.of(3, Card.Suit.HEARTS),
+        Card.of(4, Card.Suit.HEARTS), Card.of(5, Card.Suit.CLUBS), Card.of(9, Card.Suit.SPADES),
+        Card.of(9, Card.Suit.DIAMONDS)};
+    final int[] hand = new int[cards.length];
+    for (int i = 0; i < cards.length; i++) {
+      hand[i] = CardSet.bit(cards[i]);
+    }
+    Assert.assertEquals(HandEvaluator.evaluate(cards), HandVerifier.referenceRank(hand));
+    Assert.assertNull(HandVerifier.check(CardSet.of(cards), hand));
+    // a hand that is not the one described by the bit indices
+    Assert.assertNotNull(HandVerifier.check(CardSet.of(cards) ^ CardSet.of(Card.of(9, Card.Suit.DIAMONDS))
+        ^ CardSet.of(Card.of(5, Card.Suit.HEARTS)), hand));
+  }
+}
@@ -0,0 +1,52 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.ars.pokerbot.poker.Card.Suit;
+
+public class LowEvaluatorTest {
+  @Test
+  public void testWheelIsTheBestLow() {
+    final int wheel = LowEvaluator.rank(CardSet.of(Card.of(14, Suit.HEARTS), Card.of(2, Suit.HEARTS),
+        Card.of(3, Suit.HEARTS), Card.of(4, Suit.HEARTS), Card.of(5, Suit.HEARTS)));
+    final int sixLow = LowEvaluator.rank(CardSet.of(Card.of(14, Suit.HEARTS), Card.of(2, Suit.CLUBS),
+        Card.of(3, Suit.SPADES), Card.of(4, Suit.DIAMONDS), Card.of(6, Suit.HEARTS)));
+    Assert.assertTrue(wheel > sixLow);
+    Assert.assertEquals("5-4-3-2-A", LowEvaluator.toString(wheel));
+    Assert.assertEquals("6-4-3-2-A", LowEvaluator.toString(sixLow));
+  }
+
+  @Test
+  public void testEightOrBetter() {
+    final long eightLow = CardSet.of(Card.of(8, Suit.HEARTS), Card.of(7, Suit.CLUBS), Card.of(6, Suit.SPADES),
+        Card.of(5, Suit.DIAMONDS), Card.of(3, Suit.HEARTS));
+    Assert.assertEquals("8-7-6-5-3", LowEvaluator.toString(LowEvaluator.rank(eightLow)));
+    final long nineLow = CardSet.of(Card.of(9, Suit.HEARTS), Card.of(7, Suit.CLUBS), Card.of(6, Suit.SPADES),
+        Card.of(5, Suit.DIAMONDS), Card.of(3, Suit.HEARTS));
+    Assert.assertEquals(LowEvaluator.NO_LOW, LowEvaluator.rank(nineLow));
+    Assert.assertEquals("no low", LowEvaluator.toString(LowEvaluator.NO_LOW));
+  }
+
+  @Test
+  public void testPairsDoNotCount() {
+    // seven cards with only four different low values
+    final long cards = CardSet.of(Card.of(2, Suit.HEARTS), Card.of(2, Suit.CLUBS), Card.of(3, Suit.SPADES),
+        Card.of(3, Suit.DIAMONDS), Card.of(4, Suit.HEARTS), Card.of(14, Suit.HEARTS), Card.of(13, Suit.HEARTS));
+    Assert.assertEquals(LowEvaluator.NO_LOW, LowEvaluator.rank(cards));
+    // the pair is skipped for the next card
+    Assert.assertEquals("7-4-3-2-A", LowEvaluator.toString(LowEvaluator.rank(cards | CardSet.of(Card.of(7, Suit.CLUBS)))));
+  }
+
+  @Test
+  public void testComparesFromTheHighestCard() {
+    final int eightSixLow = LowEvaluator.rank(CardSet.of(Card.of(8, Suit.HEARTS), Card.of(6, Suit.CLUBS),
+        Card.of(3, Suit.SPADES), Card.of(2, Suit.DIAMONDS), Card.of(14, Suit.HEARTS)));
+    final int eightSevenLow = LowEvaluator.rank(CardSet.of(Card.of(8, Suit.HEARTS), Card.of(7, Suit.CLUBS),
+        Card.of(3, Suit.SPADES), Card.of(2, Suit.DIAMONDS), Card.of(14, Suit.HEARTS)));
+    final int sevenLow = LowEvaluator.rank(CardSet.of(Card.of(7, Suit.HEARTS), Card.of(6, Suit.CLUBS),
+        Card.of(5, Suit.SPADES), Card.of(4, Suit.DIAMONDS), Card.of(3, Suit.HEARTS)));
+    Assert.assertTrue(eightSixLow > eightSevenLow);
+    Assert.assertTrue(sevenLow > eightSixLow);
+  }
+}
@@ -0,0 +1,125 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.ars.pokerbot.poker.Card.Suit;
+import me.ars.pokerbot.poker.Hand.HandType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class OmahaEvaluatorTest {
+  @Test
+  public void testUsesExactlyTwoHoleCards() {
+    final long board = CardSet.of(Card.of(2, Suit.HEARTS), Card.of(3, Suit.HEARTS), Card.of(4, Suit.HEARTS),
+        Card.of(5, Suit.HEARTS), Card.of(9, Suit.CLUBS));
+    final long holeCards = CardSet.of(Card.of(14, Suit.HEARTS), Card.of(13, Suit.DIAMONDS),
+        Card.of(12, Suit.CLUBS), Card.of(11, Suit.SPADES));
+    // a straight flush in hold'em, but only one heart and no other low card of its own here
+    Assert.assertEquals(HandType.STRAIGHT_FLUSH, HandEvaluator.getHandType(HandEvaluator.evaluate(board | holeCards)));
+    final Hand hand = new OmahaEvaluator(board).getBestHand(null, holeCards);
+    Assert.assertEquals(HandType.HIGH_CARD, hand.getHandType());
+    Assert.assertEquals(2, CardSet.size(CardSet.of(hand.getCards()) & holeCards));
+    Assert.assertEquals(3, CardSet.size(CardSet.of(hand.getCards()) & board));
+  }
+
+  @Test
+  public void testMatchesEveryCombination() {
+    final Random random = new Random(18);
+    for (int i = 0; i < 2000; i++) {
+      final List<Card> deck = new ArrayList<>(Arrays.asList(Card.getDeck()));
+      Collections.shuffle(deck, random);
+      final int boardSize = 3 + i % 3;
+      final long holeCards = CardSet.of(deck.subList(0, 4));
+      final long board = CardSet.of(deck.subList(4, 4 + boardSize));
+      final OmahaEvaluator evaluator = new OmahaEvaluator(board);
+      Assert.assertEquals(bruteForce(holeCards, board), evaluator.rank(holeCards));
+      final Hand hand = evaluator.getBestHand(null, holeCards);
+      Assert.assertEquals(evaluator.rank(holeCards), hand.getRank());
+      // the cards of the hand make its rank
+      final long cards = CardSet.of(hand.getCards());
+      Assert.assertEquals(hand.getRank(), HandEvaluator.evaluate(cards));
+      Assert.assertEquals(2, CardSet.size(cards & holeCards));
+      Assert.assertEquals(3, CardSet.size(cards & board));
+    }
+  }
+
+  private static int bruteForce(long holeCards, long board) {
+    final Card[] hole = CardSet.toCards(holeCards);
+    final Card[] shared = CardSet.toCards(board);
+    int best = -1;
+    for (int a = 0; a < hole.length; a++) {
+      for (int b = a + 1; b < hole.length; b++) {
+        for (int c = 0; c < shared.length; c++) {
+          for (int d = c + 1; d < shared.length; d++) {
+            for (int e = d + 1; e < shared.length; e++) {
+              best = Math.max(best, HandEvaluator.evaluate(hole[a], hole[b], shared[c], shared[d], shared[e]));
+            }
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  @Test
+  public void testLowMatchesEveryCombination() {
+    final Random random = new Random(19);
+    int lows = 0;
+    for (int i = 0; i < 2000; i++) {
+      final List<Card> deck = new ArrayList<>(Arrays.asList(Card.getDeck()));
+      Collections.shuffle(deck, random);
+      final int boardSize = 3 + i % 3;
+      final long holeCards = CardSet.of(deck.subList(0, 4));
+      final long board = CardSet.of(deck.subList(4, 4 + boardSize));
+      final int lowRank = new OmahaEvaluator(board).lowRank(holeCards);
+      Assert.assertEquals(bruteForceLow(holeCards, board), lowRank);
+      if (lowRank != LowEvaluator.NO_LOW) {
+        lows++;
+      }
+    }
+    Assert.assertTrue(lows > 0);
+  }
+
+  @Test
+  public void testLowUsesExactlyTwoHoleCards() {
+    // a wheel between them, but three of the low cards are in the hand
+    final long board = CardSet.of(Card.of(4, Suit.HEARTS), Card.of(5, Suit.CLUBS), Card.of(13, Suit.HEARTS),
+        Card.of(12, Suit.CLUBS), Card.of(9, Suit.SPADES));
+    final long holeCards = CardSet.of(Card.of(14, Suit.HEARTS), Card.of(2, Suit.DIAMONDS),
+        Card.of(3, Suit.CLUBS), Card.of(11, Suit.SPADES));
+    Assert.assertEquals("5-4-3-2-A", LowEvaluator.toString(LowEvaluator.rank(board | holeCards)));
+    Assert.assertEquals(LowEvaluator.NO_LOW, new OmahaEvaluator(board).lowRank(holeCards));
+  }
+
+  private static int bruteForceLow(long holeCards, long board) {
+    final Card[] hole = CardSet.toCards(holeCards);
+    final Card[] shared = CardSet.toCards(board);
+    int best = LowEvaluator.NO_LOW;
+    for (int a = 0; a < hole.length; a++) {
+      for (int b = a + 1; b < hole.length; b++) {
+        for (int c = 0; c < shared.length; c++) {
+          for (int d = c + 1; d < shared.length; d++) {
+            for (int e = d + 1; e < shared.length; e++) {
+              final long cards = CardSet.of(hole[a], hole[b], shared[c], shared[d], shared[e]);
+              // five cards only make a low if none of them pair up
+              if (CardSet.size(cards) == 5) {
+                best = Math.max(best, LowEvaluator.rank(cards));
+              }
+            }
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooFewBoardCards() {
+    new OmahaEvaluator(CardSet.of(Card.of(2, Suit.HEARTS), Card.of(3, Suit.HEARTS)));
+  }
+}
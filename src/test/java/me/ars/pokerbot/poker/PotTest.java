@@ -351,4 +351,42 @@ public class PotTest {
     Assert.assertEquals("The spilled over money should be in the side pot", 70, secondPotMoney);
     System.out.println(pot);
   }
+
+  @Test
+  public void testPotLimitRaise() {
+    final Pot pot = new Pot();
+    pot.collectSmallBlind(player1, 10);
+    pot.collectBigBlind(player2, 10);
+    // the pot of 15 and the 5 or 10 they owe
+    Assert.assertEquals(20, pot.getPotLimitRaise(player1));
+    Assert.assertEquals(25, pot.getPotLimitRaise(player3));
+    Assert.assertEquals(15, pot.getPotLimitRaise(player2));
+    pot.raise(player3, 25);
+    Assert.assertEquals(15 + 35 + 30, pot.getPotLimitRaise(player1));
+  }
+
+  @Test
+  public void testHiLoSplit() {
+    final Pot pot = new Pot();
+    pot.collectAnte(player1, 5);
+    pot.collectAnte(player2, 5);
+    pot.collectAnte(player3, 5);
+    // the best hand gets the odd chip
+    Assert.assertEquals(8, pot.getHighHalf());
+    Assert.assertEquals(7, pot.getLowHalf());
+    pot.splitPot(toSet(player1), toSet(player2));
+    Assert.assertEquals(195 + 8, player1.getMoney());
+    Assert.assertEquals(195 + 7, player2.getMoney());
+    Assert.assertEquals(195, player3.getMoney());
+  }
+
+  @Test
+  public void testHiLoWithoutLow() {
+    final Pot pot = new Pot();
+    pot.collectAnte(player1, 5);
+    pot.collectAnte(player2, 5);
+    pot.splitPot(toSet(player1), Collections.emptySet());
+    Assert.assertEquals(205, player1.getMoney());
+    Assert.assertEquals(195, player2.getMoney());
+  }
 }
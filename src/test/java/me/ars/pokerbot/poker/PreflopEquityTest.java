@@ -0,0 +1,56 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.ars.pokerbot.poker.Card.Suit;
+
+public class PreflopEquityTest {
+  private final Card aceOfHearts = Card.of(14, Suit.HEARTS);
+  private final Card aceOfSpades = Card.of(14, Suit.SPADES);
+  private final Card kingOfDiamonds = Card.of(13, Suit.DIAMONDS);
+  private final Card kingOfClubs = Card.of(13, Suit.CLUBS);
+
+  @Test
+  public void testStartingHands() {
+    Assert.assertEquals(PreflopEquity.startingHand(aceOfHearts, aceOfSpades),
+        PreflopEquity.startingHand(aceOfSpades, aceOfHearts));
+    Assert.assertEquals(PreflopEquity.startingHand(aceOfHearts, aceOfSpades),
+        PreflopEquity.startingHand(Card.of(14, Suit.CLUBS), Card.of(14, Suit.DIAMONDS)));
+    Assert.assertNotEquals(PreflopEquity.startingHand(aceOfHearts, kingOfDiamonds),
+        PreflopEquity.startingHand(aceOfHearts, Card.of(13, Suit.HEARTS)));
+
+    final Player player = new Player("player");
+    player.receiveCards(kingOfClubs, aceOfSpades);
+    Assert.assertEquals(PreflopEquity.startingHand(aceOfHearts, kingOfDiamonds), PreflopEquity.startingHand(player));
+  }
+
+  @Test
+  public void testAgainstRandomHands() {
+    Assert.assertEquals(0.852, PreflopEquity.vsRandom(aceOfHearts, aceOfSpades, 1), 0.005);
+    Assert.assertEquals(0.311, PreflopEquity.vsRandom(aceOfHearts, aceOfSpades, 9), 0.01);
+    Assert.assertEquals(0.346, PreflopEquity.vsRandom(Card.of(7, Suit.HEARTS), Card.of(2, Suit.CLUBS), 1), 0.01);
+    for (int opponents = 2; opponents <= PreflopEquity.MAX_OPPONENTS; opponents++) {
+      Assert.assertTrue(PreflopEquity.vsRandom(aceOfHearts, aceOfSpades, opponents)
+          < PreflopEquity.vsRandom(aceOfHearts, aceOfSpades, opponents - 1));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTooManyOpponents() {
+    PreflopEquity.vsRandom(aceOfHearts, aceOfSpades, PreflopEquity.MAX_OPPONENTS + 1);
+  }
+
+  @Test
+  public void testHeadsUp() {
+    final int aces = PreflopEquity.startingHand(aceOfHearts, aceOfSpades);
+    final int kings = PreflopEquity.startingHand(kingOfDiamonds, kingOfClubs);
+    Assert.assertEquals(0.82, PreflopEquity.headsUp(aces, kings), 0.01);
+    Assert.assertEquals(0.5, PreflopEquity.headsUp(aces, aces), 1e-4);
+    for (int hand = 0; hand < PreflopEquity.STARTING_HANDS; hand++) {
+      for (int other = 0; other < PreflopEquity.STARTING_HANDS; other++) {
+        Assert.assertEquals(1, PreflopEquity.headsUp(hand, other) + PreflopEquity.headsUp(other, hand), 1e-4);
+      }
+    }
+  }
+}
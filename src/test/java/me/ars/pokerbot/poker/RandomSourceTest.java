@@ -0,0 +1,92 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.security.SecureRandom;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+public class RandomSourceTest {
+  @Test
+  public void testFromConfig() {
+    Assert.assertEquals(RandomSource.FAST, RandomSource.fromConfig(null));
+    Assert.assertEquals(RandomSource.SECURE, RandomSource.fromConfig(" Secure "));
+    Assert.assertTrue(RandomSource.SECURE.create(null) instanceof SecureRandom);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownSource() {
+    RandomSource.fromConfig("dice");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSeededSourceNeedsASeed() {
+    RandomSource.SEEDED.create(null);
+  }
+
+  @Test
+  public void testSeededSourceRepeatsItself() {
+    final Deck first = new Deck();
+    final Deck second = new Deck();
+    first.shuffle(RandomSource.SEEDED.create(7L));
+    second.shuffle(RandomSource.SEEDED.create(7L));
+    for (int i = 0; i < 52; i++) {
+      Assert.assertSame(first.deal(), second.deal());
+    }
+  }
+
+  @Test
+  public void testFastSourceStaysInBounds() {
+    final Random random = RandomSource.FAST.create(null);
+    final int[] counts = new int[3];
+    for (int i = 0; i < 3000; i++) {
+      counts[random.nextInt(3)]++;
+    }
+    for (int count : counts) {
+      Assert.assertTrue(count > 800);
+    }
+    for (int i = 0; i < 1000; i++) {
+      final int bits = random.nextInt(1 << 5);
+      Assert.assertTrue(bits >= 0 && bits < 32);
+    }
+  }
+
+  @Test
+  public void testHandRandomRepeatsSplittableRandom() {
+    final RandomSource.HandRandom random = new RandomSource.HandRandom();
+    for (int hand = 0; hand < 3; hand++) {
+      random.reseed(42, hand);
+      final SplittableRandom expected = new SplittableRandom(RandomSource.HandRandom.handSeed(42, hand));
+      for (int i = 0; i < 100; i++) {
+        Assert.assertEquals(expected.nextInt(52 - i % 52), random.nextInt(52 - i % 52));
+        Assert.assertEquals(expected.nextInt(), random.nextInt());
+        Assert.assertEquals(expected.nextLong(), random.nextLong());
+        Assert.assertEquals(expected.nextDouble(), random.nextDouble(), 0);
+        Assert.assertEquals(expected.nextBoolean(), random.nextBoolean());
+      }
+    }
+  }
+
+  @Test
+  public void testHandsDoNotRepeatEachOther() {
+    final RandomSource.HandRandom random = new RandomSource.HandRandom();
+    final int values = 64;
+    final long[][] hands = new long[3][values];
+    for (int hand = 0; hand < hands.length; hand++) {
+      random.reseed(42, hand);
+      for (int i = 0; i < values; i++) {
+        hands[hand][i] = random.nextLong();
+      }
+    }
+    // no hand deals what another one deals, at any offset
+    final Set<Long> seen = new HashSet<>();
+    for (long[] hand : hands) {
+      for (long value : hand) {
+        Assert.assertTrue(seen.add(value));
+      }
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import me.ars.pokerbot.poker.Card.Suit;
+
+public class RangeTest {
+  @Test
+  public void testSizes() {
+    Assert.assertEquals(6, Range.parse("QQ").size());
+    Assert.assertEquals(4, Range.parse("AKs").size());
+    Assert.assertEquals(12, Range.parse("AKo").size());
+    Assert.assertEquals(16, Range.parse("AK").size());
+    Assert.assertEquals(78, Range.parse("22+").size());
+    Assert.assertEquals(48, Range.parse("A2s+").size());
+    Assert.assertEquals(36, Range.parse("KTo+").size());
+    Assert.assertEquals(24, Range.parse("TT-77").size());
+    Assert.assertEquals(16, Range.parse("KTs-K7s").size());
+    Assert.assertEquals(1, Range.parse("AhKd").size());
+    Assert.assertEquals(78 + 48 + 36, Range.parse("22+, A2s+, KTo+").size());
+    Assert.assertEquals(1326, Range.parse("22+, A2+, K2+, Q2+, J2+, T2+, 92+, 82+, 72+, 62+, 52+, 42+, 32").size());
+  }
+
+  @Test
+  public void testCombinations() {
+    final Range range = Range.parse("AhKd, 72s");
+    Assert.assertEquals(CardSet.of(Card.of(14, Suit.HEARTS), Card.of(13, Suit.DIAMONDS)), range.getCombination(0));
+    for (int i = 1; i < range.size(); i++) {
+      final Card[] cards = CardSet.toCards(range.getCombination(i));
+      Assert.assertEquals(cards[0].getSuit(), cards[1].getSuit());
+      Assert.assertEquals(9, cards[0].getValue() + cards[1].getValue());
+    }
+    Assert.assertEquals("AhKd, 7s2s, 7h2h, 7d2d, 7c2c", range.toString());
+  }
+
+  @Test
+  public void testWeights() {
+    final Range range = Range.parse("QQ+, KK:0.5, AA:0");
+    Assert.assertEquals(12, range.size());
+    for (int i = 0; i < range.size(); i++) {
+      final int value = CardSet.toCards(range.getCombination(i))[0].getValue();
+      Assert.assertEquals(value == 13 ? 0.5 : 1, range.getWeight(i), 0);
+    }
+  }
+
+  @Test
+  public void testRemove() {
+    final long board = CardSet.of(Card.of(14, Suit.HEARTS), Card.of(13, Suit.SPADES));
+    final Range range = Range.parse("AA, AK").remove(board);
+    Assert.assertEquals(3 + 9, range.size());
+    for (int i = 0; i < range.size(); i++) {
+      Assert.assertFalse(CardSet.intersects(board, range.getCombination(i)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidValue() {
+    Range.parse("AXs");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSpan() {
+    Range.parse("KTs-Q7s");
+  }
+}
@@ -0,0 +1,118 @@
+package me.ars.pokerbot.poker;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import me.ars.pokerbot.poker.Card.Suit;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class RankTablesTest {
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void testMappedTablesMatchGenerated() throws IOException {
+    final Path file = folder.getRoot().toPath().resolve("ranks.bin");
+    Assert.assertNull(RankTables.map(file));
+
+    final RankTables generated = RankTables.generate();
+    generated.write(file);
+    final RankTables mapped = RankTables.map(file);
+    Assert.assertNotNull(mapped);
+    Assert.assertTrue(mapped.flush.isDirect());
+    Assert.assertEquals(generated.flush, mapped.flush);
+    Assert.assertEquals(generated.nonFlush, mapped.nonFlush);
+  }
+
+  @Test
+  public void testDamagedFileIsIgnored() throws IOException {
+    final Path file = folder.getRoot().toPath().resolve("ranks.bin");
+    RankTables.generate().write(file);
+    final long length = file.toFile().length();
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      // a bit in the middle of the tables, behind the header
+      raf.seek(length / 2);
+      final int b = raf.read();
+      raf.seek(length / 2);
+      raf.write(b ^ 1);
+    }
+    Assert.assertEquals("Only the checksum can tell", length, file.toFile().length());
+    Assert.assertNull(RankTables.map(file));
+  }
+
+  @Test
+  public void testOutdatedFileIsIgnored() throws IOException {
+    final Path file = folder.getRoot().toPath().resolve("ranks.bin");
+    RankTables.generate().write(file);
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      raf.seek(4);
+      raf.write(RankTables.FORMAT_VERSION + 1);
+    }
+    Assert.assertNull(RankTables.map(file));
+  }
+
+  @Test
+  public void testRankWithoutTables() {
+    final RankTables tables = RankTables.generate();
+    final Random random = new Random(3);
+    for (int i = 0; i < 20000; i++) {
+      final List<Card> deck = new ArrayList<>(Arrays.asList(Card.getDeck()));
+      Collections.shuffle(deck, random);
+      final long cards = CardSet.of(deck.subList(0, 5 + i % 3));
+      Assert.assertEquals(HandEvaluator.evaluate(tables, cards), RankTables.rank(cards));
+    }
+  }
+
+  @Test
+  public void testShortDeckTables() {
+    final RankTables tables = RankTables.generate(Ranking.SHORT_DECK);
+    final Random random = new Random(20);
+    for (int i = 0; i < 20000; i++) {
+      final List<Card> deck = new ArrayList<>(Arrays.asList(Ranking.SHORT_DECK.getDeck()));
+      Collections.shuffle(deck, random);
+      final long cards = CardSet.of(deck.subList(0, 5 + i % 3));
+      Assert.assertEquals(HandEvaluator.evaluate(tables, cards), RankTables.rank(Ranking.SHORT_DECK, cards));
+    }
+  }
+
+  @Test
+  public void testShortDeckRanking() {
+    Assert.assertEquals(36, Ranking.SHORT_DECK.getDeck().length);
+    final long flush = CardSet.of(Card.of(14, Suit.HEARTS), Card.of(12, Suit.HEARTS), Card.of(10, Suit.HEARTS),
+        Card.of(8, Suit.HEARTS), Card.of(7, Suit.HEARTS));
+    final long fullHouse = CardSet.of(Card.of(14, Suit.HEARTS), Card.of(14, Suit.CLUBS), Card.of(14, Suit.SPADES),
+        Card.of(13, Suit.HEARTS), Card.of(13, Suit.CLUBS));
+    final long quads = CardSet.of(Card.of(6, Suit.HEARTS), Card.of(6, Suit.CLUBS), Card.of(6, Suit.SPADES),
+        Card.of(6, Suit.DIAMONDS), Card.of(7, Suit.CLUBS));
+    final int flushRank = RankTables.rank(Ranking.SHORT_DECK, flush);
+    final int fullHouseRank = RankTables.rank(Ranking.SHORT_DECK, fullHouse);
+    Assert.assertTrue(flushRank > fullHouseRank);
+    Assert.assertTrue(RankTables.rank(Ranking.SHORT_DECK, quads) > flushRank);
+    Assert.assertEquals(Hand.HandType.FLUSH, HandEvaluator.getHandType(flushRank));
+    Assert.assertEquals(Hand.HandType.FULL_HOUSE, HandEvaluator.getHandType(fullHouseRank));
+    // the standard order is unchanged
+    Assert.assertTrue(RankTables.rank(flush) < RankTables.rank(fullHouse));
+  }
+
+  @Test
+  public void testShortDeckWheel() {
+    final long wheel = CardSet.of(Card.of(14, Suit.HEARTS), Card.of(6, Suit.CLUBS), Card.of(7, Suit.SPADES),
+        Card.of(8, Suit.HEARTS), Card.of(9, Suit.DIAMONDS), Card.of(13, Suit.CLUBS));
+    final int rank = RankTables.rank(Ranking.SHORT_DECK, wheel);
+    Assert.assertEquals(Hand.HandType.STRAIGHT, HandEvaluator.getHandType(rank));
+    Assert.assertEquals(9, HandEvaluator.getValue(rank, 0));
+    Assert.assertEquals(Hand.HandType.HIGH_CARD, HandEvaluator.getHandType(RankTables.rank(wheel)));
+    final Hand hand = new Hand(null, rank, wheel);
+    Assert.assertEquals(CardSet.remove(wheel, CardSet.of(Card.of(13, Suit.CLUBS))), CardSet.of(hand.getCards()));
+  }
+}
@@ -1,13 +1,19 @@
 package me.ars.pokerbot.poker;
 
 import me.ars.pokerbot.config.GameConfig;
+import me.ars.pokerbot.poker.Card.Suit;
 import me.ars.pokerbot.stats.Roster;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -126,6 +132,90 @@ public class TableTest {
             table.getCurrentPlayer());
   }
 
+  @Test
+  public void testPotLimitOmaha() {
+    config.variant = "omaha";
+    final Player p1 = new Player("player1");
+    final Player p2 = new Player("player2");
+    table.registerPlayer(p1);
+    table.registerPlayer(p2);
+    Assert.assertEquals(Variant.HOLDEM, table.getVariant());
+    table.startGame();
+    Assert.assertEquals(Variant.OMAHA, table.getVariant());
+    Assert.assertEquals(4, p1.getHoleCards().size());
+    Assert.assertEquals(4, p2.getHoleCards().size());
+    Mockito.verify(callback).showPlayerCards(eq(p1), eq(p1.getHoleCards()), isNull());
+
+    // the pot of 8 and the 2 player 1 owes to call the big blind
+    Assert.assertFalse(table.raise(p1, 11));
+    Mockito.verify(callback).playerCannotRaiseOverLimit(p1, 10);
+    table.allIn(p1);
+    Mockito.verify(callback, Mockito.times(2)).playerCannotRaiseOverLimit(p1, 10);
+    Assert.assertEquals(p1, table.getCurrentPlayer());
+    Assert.assertTrue(table.raise(p1, 10));
+    Assert.assertEquals(p2, table.getCurrentPlayer());
+  }
+
+  @Test
+  public void testSeededTablesDealTheSameCards() {
+    config.random = "seeded";
+    config.seed = 22L;
+    final List<List<Card>> dealt = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      final Table seeded = new Table(callback, roster, config);
+      final Player p1 = new Player("player1");
+      final Player p2 = new Player("player2");
+      seeded.registerPlayer(p1);
+      seeded.registerPlayer(p2);
+      seeded.startGame();
+      final List<Card> cards = new ArrayList<>(p1.getHoleCards());
+      cards.addAll(p2.getHoleCards());
+      dealt.add(cards);
+    }
+    Assert.assertEquals(dealt.get(0), dealt.get(1));
+  }
+
+  /*
+   * plays two hands where the current player folds at once, and records the hole cards and spy
+   * cards that were dealt
+   *
+   * @param seed the seed to replay, or null for a new game
+   */
+  private List<Card> playTwoHands(Long seed, long[] gameSeed) {
+    final StateCallback recorder = Mockito.mock(StateCallback.class);
+    final Table seeded = new Table(recorder, roster, config);
+    final Player p1 = new Player("player1");
+    final Player p2 = new Player("player2");
+    seeded.registerPlayer(p1);
+    seeded.registerPlayer(p2);
+    if (seed == null) {
+      seeded.startGame();
+    } else {
+      seeded.startGame(seed);
+    }
+    gameSeed[0] = seeded.getGameSeed();
+    final List<Card> dealt = new ArrayList<>(p1.getHoleCards());
+    dealt.addAll(p2.getHoleCards());
+    seeded.fold(seeded.getCurrentPlayer());
+    dealt.addAll(p1.getHoleCards());
+    dealt.addAll(p2.getHoleCards());
+    final ArgumentCaptor<Card> spyCards = ArgumentCaptor.forClass(Card.class);
+    Mockito.verify(recorder, Mockito.times(4)).showPlayerCards(any(Player.class), anyList(), spyCards.capture());
+    dealt.addAll(spyCards.getAllValues());
+    return dealt;
+  }
+
+  @Test
+  public void testReplayGameFromSeed() {
+    config.spyCards = true;
+    final long[] gameSeed = new long[1];
+    final List<Card> original = playTwoHands(null, gameSeed);
+    final long seed = gameSeed[0];
+    Assert.assertEquals(original, playTwoHands(seed, gameSeed));
+    Assert.assertEquals(seed, gameSeed[0]);
+    Assert.assertNotEquals(original, playTwoHands(seed + 1, gameSeed));
+  }
+
   @Test
   public void testCashoutDuringGame() {
     final Player p1 = new Player("player1");
@@ -269,6 +359,234 @@ public class TableTest {
     Assert.assertTrue("The game must have had a winner", hadWinner.get());
   }
 
+  @Test
+  public void testEquityWhenEveryoneIsAllIn() {
+    final Player p1 = new Player("player1");
+    final Player p2 = new Player("player2");
+    table.registerPlayer(p1);
+    table.registerPlayer(p2);
+    // the hole cards of the hand, before the next one is dealt
+    final List<Double> lookedUp = new ArrayList<>();
+    Mockito.doAnswer(invocation -> {
+      final List<Player> inHand = invocation.getArgument(0);
+      lookedUp.add(PreflopEquity.headsUp(inHand.get(0), inHand.get(1)));
+      return null;
+    }).when(callback).showEquity(anyList(), any(Equity.class));
+    table.startGame();
+    table.allIn(p1);
+    table.allIn(p2);
+
+    final ArgumentCaptor<Equity> equities = ArgumentCaptor.forClass(Equity.class);
+    Mockito.verify(callback, Mockito.times(3)).showEquity(anyList(), equities.capture());
+    // preflop heads up is looked up rather than enumerated
+    final Equity preflop = equities.getAllValues().get(0);
+    Assert.assertFalse(preflop.isExact());
+    Assert.assertEquals(lookedUp.get(0), preflop.getEquity(0), 1e-9);
+    Assert.assertEquals(1, preflop.getEquity(0) + preflop.getEquity(1), 1e-9);
+    final long[] runouts = {45 * 44 / 2, 44};
+    for (int street = 0; street < runouts.length; street++) {
+      final Equity equity = equities.getAllValues().get(street + 1);
+      Assert.assertTrue(equity.isExact());
+      Assert.assertEquals(runouts[street], equity.getRunouts());
+      Assert.assertEquals(1, equity.getEquity(0) + equity.getEquity(1), 1e-9);
+    }
+  }
+
+  @Test
+  public void testNoPreflopEquityWhenManyAreAllIn() {
+    final Player p1 = new Player("player1");
+    final Player p2 = new Player("player2");
+    final Player p3 = new Player("player3");
+    table.registerPlayer(p1);
+    table.registerPlayer(p2);
+    table.registerPlayer(p3);
+    table.startGame();
+    table.allIn(table.getCurrentPlayer());
+    table.allIn(table.getCurrentPlayer());
+    table.allIn(table.getCurrentPlayer());
+
+    final ArgumentCaptor<Equity> equities = ArgumentCaptor.forClass(Equity.class);
+    // only after the flop and the turn
+    Mockito.verify(callback, Mockito.times(2)).showEquity(anyList(), equities.capture());
+    Assert.assertEquals(3, equities.getAllValues().get(0).getHands());
+    Assert.assertTrue(equities.getAllValues().get(0).isExact());
+  }
+
+  /**
+   * A hold'em table that deals a flush draw to player 1 and a pair of kings to player 2, with
+   * a board that leaves both of them outs until the river.
+   */
+  private Table outsTable(Player p1, Player p2) {
+    final Table outs = new Table(callback, roster, config, new StackedDeck(
+        Card.of(14, Suit.HEARTS), Card.of(5, Suit.HEARTS), Card.of(13, Suit.CLUBS), Card.of(13, Suit.DIAMONDS),
+        Card.of(2, Suit.HEARTS), Card.of(9, Suit.HEARTS), Card.of(12, Suit.SPADES), Card.of(3, Suit.CLUBS),
+        Card.of(11, Suit.DIAMONDS)));
+    outs.registerPlayer(p1);
+    outs.registerPlayer(p2);
+    return outs;
+  }
+
+  @Test
+  public void testOutsAfterFlopAndTurn() {
+    final Player p1 = new Player("player1");
+    final Player p2 = new Player("player2");
+    table = outsTable(p1, p2);
+    table.startGame(null);
+    Assert.assertTrue(table.call(table.getCurrentPlayer()));
+    Assert.assertTrue(table.check(table.getCurrentPlayer()));
+    Mockito.verify(callback).showOuts(eq(p1), anyMap());
+    Mockito.verify(callback).showOuts(eq(p2), anyMap());
+
+    checkAround(table, 2);
+    Mockito.verify(callback, Mockito.times(2)).showOuts(eq(p1), anyMap());
+    Mockito.verify(callback, Mockito.times(2)).showOuts(eq(p2), anyMap());
+
+    // none on the river, when no card is left to come
+    checkAround(table, 2);
+    Mockito.verify(callback, Mockito.times(2)).showOuts(eq(p1), anyMap());
+    Mockito.verify(callback, Mockito.times(2)).showOuts(eq(p2), anyMap());
+  }
+
+  @Test
+  public void testNoOutsWhenEveryoneIsAllIn() {
+    final Player p1 = new Player("player1");
+    final Player p2 = new Player("player2");
+    table = outsTable(p1, p2);
+    table.startGame(null);
+    table.allIn(table.getCurrentPlayer());
+    table.allIn(table.getCurrentPlayer());
+    // the board was run out, with the chances of both instead
+    Mockito.verify(callback, Mockito.times(3)).showEquity(anyList(), any(Equity.class));
+    Mockito.verify(callback, Mockito.never()).showOuts(any(Player.class), anyMap());
+  }
+
+  /**
+   * Starts an Omaha hi/lo game of three players with an ante of 5, dealing each of them the
+   * given hole cards and then the board.
+   */
+  private Table hiLoTable(Player p1, Player p2, Player p3, Card... cards) {
+    final GameConfig conf = anteConfig();
+    conf.variant = "omaha8";
+    final Table hiLo = new Table(callback, roster, conf, new StackedDeck(cards));
+    hiLo.registerPlayer(p1);
+    hiLo.registerPlayer(p2);
+    hiLo.registerPlayer(p3);
+    return hiLo;
+  }
+
+  private static void checkAround(Table table, int checks) {
+    for (int i = 0; i < checks; i++) {
+      Assert.assertTrue(table.check(table.getCurrentPlayer()));
+    }
+  }
+
+  @Test
+  public void testHiLoSplitsThePotWithTheLow() {
+    final Player p1 = new Player("player1");
+    final Player p2 = new Player("player2");
+    final Player p3 = new Player("player3");
+    table = hiLoTable(p1, p2, p3,
+        // three kings, pair of jacks with the nut low, pair of tens
+        Card.of(13, Suit.SPADES), Card.of(13, Suit.DIAMONDS), Card.of(9, Suit.CLUBS), Card.of(9, Suit.DIAMONDS),
+        Card.of(14, Suit.CLUBS), Card.of(3, Suit.HEARTS), Card.of(11, Suit.DIAMONDS), Card.of(11, Suit.SPADES),
+        Card.of(10, Suit.SPADES), Card.of(10, Suit.HEARTS), Card.of(9, Suit.SPADES), Card.of(9, Suit.HEARTS),
+        Card.of(2, Suit.CLUBS), Card.of(4, Suit.DIAMONDS), Card.of(7, Suit.HEARTS), Card.of(13, Suit.CLUBS),
+        Card.of(12, Suit.SPADES));
+    table.startGame(null);
+    checkAround(table, 12);
+
+    // the odd chip of the pot of 15 goes to the high hand
+    Mockito.verify(callback).declareWinner(eq(p1), any(Hand.class), eq(8));
+    Mockito.verify(callback).declareLowWinners(Collections.singletonList(p2), "7-4-3-2-A", 7);
+    // and everyone has paid the ante of the next hand
+    Assert.assertEquals(200 - 5 + 8 - 5, p1.getMoney());
+    Assert.assertEquals(200 - 5 + 7 - 5, p2.getMoney());
+    Assert.assertEquals(200 - 5 - 5, p3.getMoney());
+  }
+
+  @Test
+  public void testHiLoHighScoopsWithoutALow() {
+    final Player p1 = new Player("player1");
+    final Player p2 = new Player("player2");
+    final Player p3 = new Player("player3");
+    table = hiLoTable(p1, p2, p3,
+        Card.of(13, Suit.SPADES), Card.of(13, Suit.DIAMONDS), Card.of(9, Suit.CLUBS), Card.of(9, Suit.DIAMONDS),
+        Card.of(14, Suit.CLUBS), Card.of(3, Suit.HEARTS), Card.of(11, Suit.DIAMONDS), Card.of(11, Suit.SPADES),
+        Card.of(10, Suit.SPADES), Card.of(10, Suit.HEARTS), Card.of(9, Suit.SPADES), Card.of(9, Suit.HEARTS),
+        // only two cards of the board are eight or lower
+        Card.of(2, Suit.CLUBS), Card.of(5, Suit.DIAMONDS), Card.of(13, Suit.CLUBS), Card.of(12, Suit.SPADES),
+        Card.of(13, Suit.HEARTS));
+    table.startGame(null);
+    checkAround(table, 12);
+
+    Mockito.verify(callback).declareWinner(eq(p1), any(Hand.class), eq(15));
+    Mockito.verify(callback, Mockito.never()).declareLowWinners(anyList(), anyString(), anyInt());
+    Assert.assertEquals(200 - 5 + 15 - 5, p1.getMoney());
+    Assert.assertEquals(200 - 5 - 5, p2.getMoney());
+    Assert.assertEquals(200 - 5 - 5, p3.getMoney());
+  }
+
+  @Test
+  public void testHiLoLowOnlySharesThePotsItIsIn() {
+    final Player p1 = new Player("player1");
+    final Player p2 = new Player("player2");
+    final Player p3 = new Player("player3");
+    table = hiLoTable(p1, p2, p3,
+        Card.of(13, Suit.SPADES), Card.of(13, Suit.DIAMONDS), Card.of(9, Suit.CLUBS), Card.of(9, Suit.DIAMONDS),
+        Card.of(14, Suit.CLUBS), Card.of(3, Suit.HEARTS), Card.of(11, Suit.DIAMONDS), Card.of(11, Suit.SPADES),
+        Card.of(10, Suit.SPADES), Card.of(10, Suit.HEARTS), Card.of(9, Suit.SPADES), Card.of(9, Suit.HEARTS),
+        Card.of(2, Suit.CLUBS), Card.of(4, Suit.DIAMONDS), Card.of(7, Suit.HEARTS), Card.of(13, Suit.CLUBS),
+        Card.of(12, Suit.SPADES));
+    // the low has 5 left after the ante
+    p2.setMoney(10);
+    table.startGame(null);
+    Assert.assertTrue(table.raise(p1, 15));
+    // all in for 5 of the 15, leaving a side pot of 10 from each of the others
+    Assert.assertTrue(table.call(p2));
+    Assert.assertTrue(table.call(p3));
+    checkAround(table, 6);
+
+    // the main pot of 30 is split, and the high hand takes the whole side pot
+    Mockito.verify(callback).declareWinner(eq(p1), any(Hand.class), eq(15));
+    Mockito.verify(callback).declareLowWinners(Collections.singletonList(p2), "7-4-3-2-A", 15);
+    Mockito.verify(callback).declareWinner(eq(p1), any(Hand.class), eq(20));
+    Mockito.verify(callback, Mockito.times(1)).declareLowWinners(anyList(), anyString(), anyInt());
+    Assert.assertEquals(200 - 20 + 15 + 20 - 5, p1.getMoney());
+    Assert.assertEquals(10 - 10 + 15 - 5, p2.getMoney());
+    Assert.assertEquals(200 - 20 - 5, p3.getMoney());
+  }
+
+  /**
+   * Makes the lazy shuffle of a fresh deck deal the given cards first, each by picking it
+   * from where the previous picks have left it, and then the rest in no particular order.
+   */
+  private static final class StackedDeck extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private final Card[] order;
+    private final List<Card> deck = new ArrayList<>();
+
+    StackedDeck(Card... order) {
+      this.order = order;
+    }
+
+    @Override
+    public int nextInt(int bound) {
+      final int position = Card.getDeck().length - bound;
+      if (position == 0) {
+        // a new hand, from a deck in the order of Card.getDeck
+        deck.clear();
+        deck.addAll(Arrays.asList(Card.getDeck()));
+      }
+      if (position >= order.length) {
+        return 0;
+      }
+      final int picked = deck.indexOf(order[position]);
+      Collections.swap(deck, position, picked);
+      return picked - position;
+    }
+  }
+
   /**
    * Helper class to hold state for usage with Mockito
    */